@@ -15,6 +15,7 @@ plugins {
     id("org.flywaydb.flyway") version "10.21.0"
     id("org.springframework.boot") version "3.3.5"
     id("io.spring.dependency-management") version "1.1.6"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.esop"
@@ -41,8 +42,16 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
+    implementation("org.apache.commons:commons-pool2")
     implementation("org.springframework.boot:spring-boot-starter-validation")
 
+    // Cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
+    // Metrics
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
     // Database
     implementation("org.flywaydb:flyway-core:10.21.0")
     implementation("org.flywaydb:flyway-mysql:10.21.0")
@@ -68,11 +77,21 @@ dependencies {
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.3.0")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("software.amazon.awssdk:ses:2.25.1")
+    implementation("software.amazon.awssdk:netty-nio-client:2.25.1")
     implementation("io.awspring.cloud:spring-cloud-aws-ses:3.1.1")
 }
 
 apply(from = "gradle/quality/spotless.gradle")
 
+// Benchmarks: ./gradlew jmh (narrow with -Pjmh.includes=EmailThroughputBenchmark)
+jmh {
+    jmhVersion = "1.37"
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    jvmArgs = listOf("-Xms2g", "-Xmx2g")
+    (findProperty("jmh.includes") as String?)?.let { includes = listOf(it) }
+}
+
 tasks.register("migrateDb") {
     group = "database"
     description = "Run Flyway database migrations"
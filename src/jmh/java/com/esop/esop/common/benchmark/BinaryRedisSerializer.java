@@ -0,0 +1,87 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.common.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Compact binary serializer for one value type: fields are written in a fixed order with DataOutput, with no type
+ * metadata or field names. A leading version byte lets the layout change while old values are still readable.
+ * Unlike JSON, values are opaque to redis-cli and to Lua scripts. Benchmark candidate only: every value the
+ * application stores is a string, digits or a counter and stays on StringRedisSerializer.
+ */
+public class BinaryRedisSerializer<T> implements RedisSerializer<T> {
+	private final byte version;
+	
+	private final Encoder<T> encoder;
+	
+	private final Decoder<T> decoder;
+	
+	private final int initialBufferSize;
+	
+	
+	public BinaryRedisSerializer(final int version, final int initialBufferSize, final Encoder<T> encoder,
+			final Decoder<T> decoder) {
+		this.version = (byte) version;
+		this.initialBufferSize = initialBufferSize;
+		this.encoder = encoder;
+		this.decoder = decoder;
+	}
+	
+	@Override
+	public byte[] serialize(@Nullable final T value) throws SerializationException {
+		if (value == null) {
+			return null;
+		}
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(this.initialBufferSize);
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			output.writeByte(this.version);
+			this.encoder.encode(value, output);
+		} catch (IOException e) {
+			throw new SerializationException("Failed to serialize " + value.getClass().getSimpleName(), e);
+		}
+		return bytes.toByteArray();
+	}
+	
+	@Override
+	public T deserialize(@Nullable final byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			return this.decoder.decode(input.readByte(), input);
+		} catch (IOException e) {
+			throw new SerializationException("Failed to deserialize " + bytes.length + " bytes", e);
+		}
+	}
+	
+	@FunctionalInterface
+	public interface Encoder<T> {
+		void encode(T value, DataOutput output) throws IOException;
+	}
+	
+	@FunctionalInterface
+	public interface Decoder<T> {
+		/**
+		 * @param version version byte the value was written with
+		 */
+		T decode(byte version, DataInput input) throws IOException;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.common.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trip (serialize + deserialize) cost of Redis value serializers, and the bytes each stores.
+ * <ul>
+ * <li>memberId* - a member id as stored under token keys: GenericJackson2JsonRedisSerializer vs plain string</li>
+ * <li>session* - a small typed value: JSON with @class metadata vs {@link BinaryRedisSerializer}</li>
+ * </ul>
+ * Bytes per value are printed at setup. Run with {@code ./gradlew jmh -Pjmh.includes=RedisSerializerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+	private static final String MEMBER_ID = "1048576";
+	
+	private static final SessionValue SESSION =
+			new SessionValue(1048576L, "USER", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+	
+	private final RedisSerializer<Object> jsonSerializer = new GenericJackson2JsonRedisSerializer();
+	
+	private final RedisSerializer<String> stringSerializer = RedisSerializer.string();
+	
+	private final RedisSerializer<SessionValue> binarySerializer = new BinaryRedisSerializer<>(1, 32,
+			(value, output) -> {
+				output.writeLong(value.memberId());
+				output.writeUTF(value.role());
+				output.writeLong(value.expiresAtEpochSecond());
+			},
+			(version, input) -> new SessionValue(input.readLong(), input.readUTF(), input.readLong()));
+	
+	
+	@Setup
+	public void printSizes() {
+		System.out.printf("%nmemberId: json=%d bytes, string=%d bytes%n",
+				this.jsonSerializer.serialize(MEMBER_ID).length, this.stringSerializer.serialize(MEMBER_ID).length);
+		System.out.printf("session: json=%d bytes, binary=%d bytes%n",
+				this.jsonSerializer.serialize(SESSION).length, this.binarySerializer.serialize(SESSION).length);
+	}
+	
+	@Benchmark
+	public Object memberIdJson() {
+		return this.jsonSerializer.deserialize(this.jsonSerializer.serialize(MEMBER_ID));
+	}
+	
+	@Benchmark
+	public Object memberIdString() {
+		return this.stringSerializer.deserialize(this.stringSerializer.serialize(MEMBER_ID));
+	}
+	
+	@Benchmark
+	public Object sessionJson() {
+		return this.jsonSerializer.deserialize(this.jsonSerializer.serialize(SESSION));
+	}
+	
+	@Benchmark
+	public Object sessionBinary() {
+		return this.binarySerializer.deserialize(this.binarySerializer.serialize(SESSION));
+	}
+	
+	public record SessionValue(long memberId, String role, long expiresAtEpochSecond) {
+	}
+}
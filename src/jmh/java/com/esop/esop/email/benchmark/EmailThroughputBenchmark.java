@@ -0,0 +1,289 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.ReflectionUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.esop.esop.email.config.AsyncConfig;
+import com.esop.esop.email.model.EmailBatchResult;
+import com.esop.esop.email.service.*;
+import com.esop.esop.email.template.EmailTemplate;
+import com.esop.esop.email.template.EmailTemplateConst;
+import com.esop.esop.email.template.EmailTemplateEngine;
+
+/**
+ * End-to-end bulk send throughput against a local SMTP sink or an SES stub, no real provider needed.
+ * Each invocation sends one campaign to {@code recipients} addresses; the score is the campaign duration.
+ * After every iteration messages/s, p50/p99 send latency, CPU utilization, peak threads and heap used are
+ * printed. Run with {@code ./gradlew jmh}; allocation rates come from the gc profiler configured in the build.
+ * Use {@code -p personalized=false} (optionally {@code -p rcptBatchSize=50}) to measure the prebuilt MIME path.
+ *
+ * <p>Modes:
+ * <ul>
+ * <li>SMTP_PLATFORM_POOL / SES_PLATFORM_POOL - AsyncEmailService on the emailTaskExecutor from AsyncConfig</li>
+ * <li>SMTP_VIRTUAL_THREADS / SES_VIRTUAL_THREADS - AsyncEmailService on a virtual-thread-per-task executor</li>
+ * <li>SES_ASYNC - AwsSesAsyncEmailService.sendHtmlEmailAsync, non-blocking with a bounded number in flight</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class EmailThroughputBenchmark {
+	private static final String SUBJECT = "ESOP Benchmark Email";
+	
+	private static final String PERSONALIZED_BODY = "<p>Hello {{email}},<br>Welcome to ESOP!</p>";
+	
+	private static final String IDENTICAL_BODY = "<p>Hello,<br>Welcome to ESOP!</p>";
+	
+	@Param({
+		"1000",
+		"10000",
+		"100000"
+	})
+	public int recipients;
+	
+	@Param({
+		"SMTP_PLATFORM_POOL",
+		"SMTP_VIRTUAL_THREADS",
+		"SES_PLATFORM_POOL",
+		"SES_VIRTUAL_THREADS",
+		"SES_ASYNC"
+	})
+	public String mode;
+	
+	/** false sends one identical body to everyone, which takes the prebuilt MIME path */
+	@Param("true")
+	public boolean personalized;
+	
+	/** email.smtp.rcpt-batch-size for identical SMTP sends */
+	@Param("1")
+	public int rcptBatchSize;
+	
+	/** Workers pulling batches in AsyncEmailService, and their max concurrency (email.batch.parallelism) */
+	@Param("10")
+	public int parallelism;
+	
+	/** Simulated SES round trip */
+	@Param("20000")
+	public long sesLatencyMicros;
+	
+	/** email.ses.async.max-in-flight */
+	@Param("50")
+	public int maxInFlight;
+	
+	/** email.ses.async.max-queued; SES_ASYNC submits every recipient up front, so it must cover the largest run */
+	@Param("100000")
+	public int maxQueued;
+	
+	private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+	
+	private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+	
+	private LocalSmtpSink smtpSink;
+	
+	private SesStubAsyncClient sesClient;
+	
+	private ExecutorService virtualThreadExecutor;
+	
+	private ThreadPoolTaskExecutor platformExecutor;
+	
+	private LatencyRecorder latencyRecorder;
+	
+	private AsyncEmailService asyncEmailService;
+	
+	private AwsSesAsyncEmailService sesAsyncEmailService;
+	
+	private List<String> recipientList;
+	
+	private long iterationStartNanos;
+	
+	private long iterationStartCpuNanos;
+	
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.recipientList = IntStream.range(0, this.recipients)
+			.mapToObj(i -> "user" + i + "@bench.esop.local")
+			.collect(Collectors.toList());
+		this.latencyRecorder = new LatencyRecorder(this.recipients);
+		
+		final EmailTemplateEngine templateEngine = new EmailTemplateEngine(new DefaultResourceLoader(),
+				new StaticMessageSource(), "classpath:templates/email/");
+		final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		final EmailFailureClassifier failureClassifier = new EmailFailureClassifier();
+		final EmailMetrics emailMetrics = new EmailMetrics(meterRegistry, failureClassifier);
+		final EmailService transport;
+		if (this.mode.startsWith("SMTP")) {
+			this.smtpSink = LocalSmtpSink.start();
+			final JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+			mailSender.setHost("localhost");
+			mailSender.setPort(this.smtpSink.getPort());
+			final LocalSmtpEmailService smtpEmailService = new LocalSmtpEmailService(mailSender, templateEngine,
+					emailMetrics);
+			setField(smtpEmailService, "fromEmail", "bench@esop.local");
+			setField(smtpEmailService, "senderName", "ESOP Benchmark");
+			setField(smtpEmailService, "rcptBatchSize", this.rcptBatchSize);
+			transport = smtpEmailService;
+		} else {
+			this.sesClient = new SesStubAsyncClient(this.sesLatencyMicros);
+			this.sesAsyncEmailService = new AwsSesAsyncEmailService(this.sesClient, this.sesClient, templateEngine,
+					emailMetrics, this.maxInFlight, this.maxQueued);
+			setField(this.sesAsyncEmailService, "fromEmail", "bench@esop.local");
+			setField(this.sesAsyncEmailService, "senderName", "ESOP Benchmark");
+			transport = this.sesAsyncEmailService;
+		}
+		
+		final EmailLaneMonitor laneMonitor = new EmailLaneMonitor(meterRegistry);
+		final Executor executor;
+		if (this.mode.endsWith("VIRTUAL_THREADS")) {
+			this.virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+			executor = this.virtualThreadExecutor;
+		} else {
+			this.platformExecutor = (ThreadPoolTaskExecutor) new AsyncConfig().emailTaskExecutor(laneMonitor,
+					meterRegistry);
+			executor = this.platformExecutor;
+		}
+		
+		this.asyncEmailService = new AsyncEmailService(
+				new TimedEmailService(transport, this.latencyRecorder),
+				new InMemoryEmailProgressTracker(3600),
+				new EmailSuppressionService(null, null, 1000, 0.01),
+				new EmailRateLimiter(0, 0),
+				laneMonitor,
+				failureClassifier,
+				new EmailRetryPolicy(4, 200, 10000),
+				null,
+				emailMetrics,
+				executor,
+				executor);
+		setField(this.asyncEmailService, "batchSize", 100);
+		setField(this.asyncEmailService, "targetLatencyMillis", 500L);
+		setField(this.asyncEmailService, "parallelism", this.parallelism);
+		setField(this.asyncEmailService, "initialConcurrency", 4);
+		setField(this.asyncEmailService, "minConcurrency", 1);
+	}
+	
+	@Setup(Level.Iteration)
+	public void startIteration() {
+		this.latencyRecorder.reset();
+		this.threadMXBean.resetPeakThreadCount();
+		this.iterationStartCpuNanos = processCpuNanos();
+		this.iterationStartNanos = System.nanoTime();
+	}
+	
+	@Benchmark
+	public int sendCampaign() {
+		if ("SES_ASYNC".equals(this.mode)) {
+			return this.sendCampaignNonBlocking();
+		}
+		return this.asyncEmailService.sendEmailsInBatches(this.recipientList, SUBJECT, this.bodyTemplate())
+			.join()
+			.stream()
+			.mapToInt(EmailBatchResult::getSuccessCount)
+			.sum();
+	}
+	
+	@TearDown(Level.Iteration)
+	public void reportIteration() {
+		final double elapsedSeconds = (System.nanoTime() - this.iterationStartNanos) / 1e9;
+		final double cpuSeconds = (processCpuNanos() - this.iterationStartCpuNanos) / 1e9;
+		final int cpus = Runtime.getRuntime().availableProcessors();
+		System.out.printf(
+				"%n[%s, %d recipients] %.0f msg/s, p50 %.2f ms, p99 %.2f ms, CPU %.0f%% of %d cores, "
+						+ "peak threads %d, heap used %d MB%n",
+				this.mode, this.recipients, this.latencyRecorder.size() / elapsedSeconds,
+				this.latencyRecorder.percentileMillis(50), this.latencyRecorder.percentileMillis(99),
+				cpuSeconds / (elapsedSeconds * cpus) * 100, cpus, this.threadMXBean.getPeakThreadCount(),
+				this.memoryMXBean.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		if (this.platformExecutor != null) {
+			this.platformExecutor.shutdown();
+		}
+		if (this.virtualThreadExecutor != null) {
+			this.virtualThreadExecutor.shutdownNow();
+		}
+		if (this.sesClient != null) {
+			this.sesClient.close();
+		}
+		if (this.smtpSink != null) {
+			this.smtpSink.close();
+		}
+	}
+	
+	private int sendCampaignNonBlocking() {
+		final EmailTemplate template = EmailTemplate.compile(this.bodyTemplate());
+		final List<CompletableFuture<String>> futures = new ArrayList<>(this.recipientList.size());
+		for (String email : this.recipientList) {
+			final String body = template.render(name -> EmailTemplateConst.EMAIL_PLACEHOLDER.equals(name) ? email : null);
+			final long startedAt = System.nanoTime();
+			futures.add(this.sesAsyncEmailService.sendHtmlEmailAsync(email, SUBJECT, body)
+				.whenComplete((messageId, error) -> this.latencyRecorder.record(System.nanoTime() - startedAt)));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		return futures.size();
+	}
+	
+	private String bodyTemplate() {
+		return this.personalized ? PERSONALIZED_BODY : IDENTICAL_BODY;
+	}
+	
+	private static long processCpuNanos() {
+		return ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os
+				? os.getProcessCpuTime()
+				: 0;
+	}
+	
+	private static void setField(final Object target, final String name, final Object value) {
+		final Field field = ReflectionUtils.findField(target.getClass(), name);
+		ReflectionUtils.makeAccessible(field);
+		ReflectionUtils.setField(field, target, value);
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free recorder of per-message send latencies for one benchmark iteration.
+ */
+final class LatencyRecorder {
+	private final AtomicLongArray samples;
+	
+	private final AtomicInteger count = new AtomicInteger();
+	
+	
+	LatencyRecorder(final int capacity) {
+		this.samples = new AtomicLongArray(capacity);
+	}
+	
+	void record(final long latencyNanos) {
+		final int index = this.count.getAndIncrement();
+		if (index < this.samples.length()) {
+			this.samples.set(index, latencyNanos);
+		}
+	}
+	
+	void reset() {
+		this.count.set(0);
+	}
+	
+	int size() {
+		return Math.min(this.count.get(), this.samples.length());
+	}
+	
+	/**
+	 * @return latency at the given percentile (0-100) in milliseconds
+	 */
+	double percentileMillis(final double percentile) {
+		final int size = this.size();
+		if (size == 0) {
+			return 0;
+		}
+		final long[] sorted = new long[size];
+		for (int i = 0; i < size; i++) {
+			sorted[i] = this.samples.get(i);
+		}
+		Arrays.sort(sorted);
+		final int index = (int) Math.min(size - 1, Math.ceil(percentile / 100 * size) - 1);
+		return sorted[Math.max(0, index)] / 1_000_000.0;
+	}
+}
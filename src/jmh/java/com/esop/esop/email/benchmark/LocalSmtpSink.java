@@ -0,0 +1,128 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process SMTP server that accepts and discards every message.
+ * Understands just enough of RFC 5321 (EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP, QUIT) for JavaMail;
+ * each connection is served on its own virtual thread so the sink is never the bottleneck.
+ */
+public final class LocalSmtpSink implements AutoCloseable {
+	private final ServerSocket serverSocket;
+	
+	private final ExecutorService connectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	
+	private final AtomicLong acceptedMessages = new AtomicLong();
+	
+	private final AtomicLong acceptedRecipients = new AtomicLong();
+	
+	private volatile boolean running = true;
+	
+	
+	private LocalSmtpSink(final ServerSocket serverSocket) {
+		this.serverSocket = serverSocket;
+	}
+	
+	public static LocalSmtpSink start() {
+		try {
+			final LocalSmtpSink sink = new LocalSmtpSink(new ServerSocket(0, 1024, InetAddress.getLoopbackAddress()));
+			Thread.ofVirtual().name("smtp-sink-acceptor").start(sink::acceptLoop);
+			return sink;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to start SMTP sink", e);
+		}
+	}
+	
+	public int getPort() {
+		return this.serverSocket.getLocalPort();
+	}
+	
+	public long getAcceptedMessages() {
+		return this.acceptedMessages.get();
+	}
+	
+	public long getAcceptedRecipients() {
+		return this.acceptedRecipients.get();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		this.running = false;
+		this.serverSocket.close();
+		this.connectionExecutor.shutdownNow();
+	}
+	
+	private void acceptLoop() {
+		while (this.running) {
+			try {
+				final Socket socket = this.serverSocket.accept();
+				this.connectionExecutor.execute(() -> this.serve(socket));
+			} catch (IOException e) {
+				if (this.running) {
+					throw new UncheckedIOException("SMTP sink accept failed", e);
+				}
+			}
+		}
+	}
+	
+	private void serve(final Socket socket) {
+		try (socket;
+				BufferedReader in = new BufferedReader(
+						new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+				OutputStream out = socket.getOutputStream()) {
+			reply(out, "220 localhost ESMTP sink");
+			String line;
+			while ((line = in.readLine()) != null) {
+				final String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line;
+				switch (command) {
+					case "EHLO" -> reply(out, "250-localhost\r\n250-8BITMIME\r\n250-PIPELINING\r\n250 SMTPUTF8");
+					case "RCPT" -> {
+						this.acceptedRecipients.incrementAndGet();
+						reply(out, "250 OK");
+					}
+					case "DATA" -> {
+						reply(out, "354 End data with <CR><LF>.<CR><LF>");
+						while ((line = in.readLine()) != null && !".".equals(line)) {
+							// discard message content
+						}
+						this.acceptedMessages.incrementAndGet();
+						reply(out, "250 OK queued");
+					}
+					case "QUIT" -> {
+						reply(out, "221 Bye");
+						return;
+					}
+					default -> reply(out, "250 OK");
+				}
+			}
+		} catch (IOException e) {
+			// client went away; nothing to clean up
+		}
+	}
+	
+	private static void reply(final OutputStream out, final String response) throws IOException {
+		out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+}
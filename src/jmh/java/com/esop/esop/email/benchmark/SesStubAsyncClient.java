@@ -0,0 +1,63 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import software.amazon.awssdk.services.ses.SesAsyncClient;
+import software.amazon.awssdk.services.ses.model.SendEmailRequest;
+import software.amazon.awssdk.services.ses.model.SendEmailResponse;
+
+/**
+ * SesAsyncClient that answers every SendEmail after a fixed simulated round trip, without any network I/O.
+ */
+public final class SesStubAsyncClient implements SesAsyncClient {
+	private final long latencyMicros;
+	
+	private final ScheduledExecutorService responder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "ses-stub-responder");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	private final AtomicLong sentMessages = new AtomicLong();
+	
+	
+	public SesStubAsyncClient(final long latencyMicros) {
+		this.latencyMicros = latencyMicros;
+	}
+	
+	@Override
+	public CompletableFuture<SendEmailResponse> sendEmail(final SendEmailRequest request) {
+		final CompletableFuture<SendEmailResponse> response = new CompletableFuture<>();
+		final String messageId = "stub-" + this.sentMessages.incrementAndGet();
+		this.responder.schedule(() -> response.complete(SendEmailResponse.builder().messageId(messageId).build()),
+				this.latencyMicros, TimeUnit.MICROSECONDS);
+		return response;
+	}
+	
+	public long getSentMessages() {
+		return this.sentMessages.get();
+	}
+	
+	@Override
+	public String serviceName() {
+		return SERVICE_NAME;
+	}
+	
+	@Override
+	public void close() {
+		this.responder.shutdownNow();
+	}
+}
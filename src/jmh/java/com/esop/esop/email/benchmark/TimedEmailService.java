@@ -0,0 +1,69 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+import com.esop.esop.email.service.EmailService;
+
+/**
+ * EmailService decorator recording the latency of every HTML send.
+ */
+final class TimedEmailService implements EmailService {
+	private final EmailService delegate;
+	
+	private final LatencyRecorder latencyRecorder;
+	
+	
+	TimedEmailService(final EmailService delegate, final LatencyRecorder latencyRecorder) {
+		this.delegate = delegate;
+		this.latencyRecorder = latencyRecorder;
+	}
+	
+	@Override
+	public void sendHtmlEmail(final String to, final String subject, final String htmlBody) {
+		final long startedAt = System.nanoTime();
+		this.delegate.sendHtmlEmail(to, subject, htmlBody);
+		this.latencyRecorder.record(System.nanoTime() - startedAt);
+	}
+	
+	@Override
+	public Map<String, Exception> sendIdenticalHtmlEmails(final List<String> recipients, final String subject,
+			final String htmlBody) {
+		final long startedAt = System.nanoTime();
+		final Map<String, Exception> failures = this.delegate.sendIdenticalHtmlEmails(recipients, subject, htmlBody);
+		final long perRecipientNanos = (System.nanoTime() - startedAt) / Math.max(1, recipients.size());
+		for (int i = 0; i < recipients.size(); i++) {
+			this.latencyRecorder.record(perRecipientNanos);
+		}
+		return failures;
+	}
+	
+	@Override
+	public void sendSimpleEmail(final String to, final String subject, final String body) {
+		this.delegate.sendSimpleEmail(to, subject, body);
+	}
+	
+	@Override
+	public void sendPasswordResetEmail(final String email, final String resetToken) {
+		this.delegate.sendPasswordResetEmail(email, resetToken);
+	}
+	
+	@Override
+	public void sendEmailVerificationEmail(final String email, final String verificationToken) {
+		this.delegate.sendEmailVerificationEmail(email, verificationToken);
+	}
+	
+	@Override
+	public void sendTransactionNotification(final String email, final String transactionCode, final String status) {
+		this.delegate.sendTransactionNotification(email, transactionCode, status);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security.benchmark;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+
+import com.esop.esop.member.model.Role;
+import com.esop.esop.security.JwtTokenManager;
+
+/**
+ * Per-request cost of verifying an access token.
+ * <ul>
+ * <li>perRequestKeyAndParser - the former path: decode the secret, derive the key and build a parser per call</li>
+ * <li>cachedKeyAndParser - JwtTokenManager.extractMemberId with the key and parser built once</li>
+ * </ul>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=JwtVerificationBenchmark}; the gc profiler shows bytes/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtVerificationBenchmark {
+	private String secret;
+	
+	private String accessToken;
+	
+	private JwtTokenManager jwtTokenManager;
+	
+	
+	@Setup
+	public void setUp() {
+		final byte[] secretBytes = new byte[64];
+		new SecureRandom().nextBytes(secretBytes);
+		this.secret = Encoders.BASE64.encode(secretBytes);
+		
+		final StandardEnvironment environment = new StandardEnvironment();
+		environment.getPropertySources()
+			.addFirst(new MapPropertySource("benchmark", Map.of("esop.jwt.secret", this.secret)));
+		this.jwtTokenManager = new JwtTokenManager(environment);
+		this.accessToken = this.jwtTokenManager.generateAccessToken(42L, Role.USER);
+	}
+	
+	@Benchmark
+	public long perRequestKeyAndParser() {
+		return Long.parseLong(Jwts.parser()
+			.verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(this.secret)))
+			.build()
+			.parseSignedClaims(this.accessToken)
+			.getPayload()
+			.getSubject());
+	}
+	
+	@Benchmark
+	public long cachedKeyAndParser() {
+		return this.jwtTokenManager.extractMemberId(this.accessToken);
+	}
+}
@@ -9,24 +9,74 @@
  */
 package com.esop.esop.auth;
 
+import java.util.List;
+
 import lombok.NonNull;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AccessTokenRedisRepository extends com.esop.esop.common.redis.AbstractRedisRepository<String, String> {
-	public AccessTokenRedisRepository(RedisTemplate<String, String> redisTemplate) {
+	/** Also look up keys of the former full-token scheme, migrating them on first read */
+	private final boolean legacyKeyFallback;
+	
+	private final StringRedisTemplate replicaReadRedisTemplate;
+	
+	
+	public AccessTokenRedisRepository(RedisTemplate<String, String> redisTemplate,
+			@Qualifier("replicaReadRedisTemplate") final StringRedisTemplate replicaReadRedisTemplate,
+			@Value("${esop.auth.redis.legacy-key-fallback:true}") final boolean legacyKeyFallback) {
 		super(redisTemplate);
+		this.replicaReadRedisTemplate = replicaReadRedisTemplate;
+		this.legacyKeyFallback = legacyKeyFallback;
 	}
 	
 	@NonNull
 	public String getAccessToken(final long memberId, @NonNull final String accessToken) {
-		return this.get(AuthTokenRedisKeyGenerator.generateAccessTokenKey(memberId, accessToken));
+		final String key = AuthTokenRedisKeyGenerator.generateAccessTokenKey(memberId, accessToken);
+		return this.legacyKeyFallback
+				? this.getMigratingFrom(key,
+						AuthTokenRedisKeyGenerator.generateLegacyAccessTokenKey(memberId, accessToken))
+				: this.get(key);
+	}
+	
+	/**
+	 * Token entry and the member's tokens-valid-after epoch in one MGET round trip, served by a replica when there is
+	 * one. A token missing on the replica may only be lagging (just issued), so misses are re-read from the primary.
+	 * A revoke-all can likewise reach the replica a few milliseconds late.
+	 */
+	@NonNull
+	public AccessTokenState getAccessTokenState(final long memberId, @NonNull final String accessToken) {
+		final String key = AuthTokenRedisKeyGenerator.generateAccessTokenKey(memberId, accessToken);
+		final List<String> keys = List.of(key, MemberSessionRedisRepository.generateTokensValidAfterKey(memberId));
+		List<String> values = this.replicaReadRedisTemplate.opsForValue().multiGet(keys);
+		if (values == null || values.get(0) == null) {
+			values = this.multiGet(keys);
+		}
+		String storedMemberId = values.get(0);
+		if (storedMemberId == null && this.legacyKeyFallback) {
+			storedMemberId = this.getMigratingFrom(key,
+					AuthTokenRedisKeyGenerator.generateLegacyAccessTokenKey(memberId, accessToken));
+		}
+		return new AccessTokenState(storedMemberId, MemberSessionRedisRepository.parseEpoch(values.get(1)));
+	}
+	
+	public void deleteAccessToken(final long memberId, @NonNull final String accessToken) {
+		final String key = AuthTokenRedisKeyGenerator.generateAccessTokenKey(memberId, accessToken);
+		this.deleteAll(this.legacyKeyFallback
+				? List.of(key, AuthTokenRedisKeyGenerator.generateLegacyAccessTokenKey(memberId, accessToken))
+				: List.of(key));
 	}
 	
-	public void saveAccessToken(@NonNull final String accessToken, final long memberId) {
-		this.set(AuthTokenRedisKeyGenerator.generateAccessTokenKey(memberId, accessToken), String.valueOf(memberId),
-				com.esop.esop.common.redis.RedisConst.DEFAULT_ACCESS_TOKEN_TTL_IN_SECONDS);
+	/**
+	 * @param memberId         value stored under the token key, null if the token is unknown or expired
+	 * @param tokensValidAfter epoch second up to which (inclusive) the member's tokens are revoked, null if never revoked
+	 */
+	public record AccessTokenState(@Nullable String memberId, @Nullable Long tokensValidAfter) {
 	}
 }
@@ -0,0 +1,37 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.auth;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/members")
+@RequiredArgsConstructor
+@Tag(name = "Member Sessions", description = "APIs for revoking member sessions")
+public class AdminSessionController {
+	private final AuthService authService;
+	
+	
+	@Operation(summary = "Revoke every access and refresh token of a member (password change, account lock)")
+	@DeleteMapping("/{memberId}/sessions")
+	public ResponseEntity<Void> revokeAllSessions(@PathVariable final long memberId) {
+		this.authService.revokeAllSessions(memberId);
+		return ResponseEntity.noContent().build();
+	}
+}
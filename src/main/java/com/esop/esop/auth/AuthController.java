@@ -9,12 +9,16 @@
  */
 package com.esop.esop.auth;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,10 +27,15 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import com.esop.esop.auth.error.dto.CaptchaRequiredErrorResponse;
+import com.esop.esop.auth.error.dto.InvalidEmailAndPasswordErrorResponse;
 import com.esop.esop.auth.error.dto.InvalidEmailFormatErrorResponse;
 import com.esop.esop.auth.error.dto.InvalidRefreshTokenErrorResponse;
+import com.esop.esop.auth.error.dto.LoginBusyErrorResponse;
+import com.esop.esop.auth.error.dto.LoginLockedErrorResponse;
 import com.esop.esop.auth.error.dto.MemberNotFoundErrorResponse;
 
 @Slf4j
@@ -53,11 +62,40 @@ public class AuthController {
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Login successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = com.esop.esop.auth.dto.LoginResponse.class))),
 		@ApiResponse(responseCode = "400", description = "Invalid email format", content = @Content(mediaType = "application/json", schema = @Schema(implementation = InvalidEmailFormatErrorResponse.class))),
-		@ApiResponse(responseCode = "404", description = "Member not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MemberNotFoundErrorResponse.class)))
+		@ApiResponse(responseCode = "400", description = "Email or password is incorrect", content = @Content(mediaType = "application/json", schema = @Schema(implementation = InvalidEmailAndPasswordErrorResponse.class))),
+		@ApiResponse(responseCode = "404", description = "Member not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MemberNotFoundErrorResponse.class))),
+		@ApiResponse(responseCode = "428", description = "Captcha required", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CaptchaRequiredErrorResponse.class))),
+		@ApiResponse(responseCode = "429", description = "Too many failed attempts, see Retry-After", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LoginLockedErrorResponse.class))),
+		@ApiResponse(responseCode = "503", description = "Too many logins in progress, see Retry-After", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LoginBusyErrorResponse.class)))
 	})
 	@PostMapping("/email-login")
-	public ResponseEntity<com.esop.esop.auth.dto.LoginResponse> emailLogin(
-			@Valid @RequestBody final com.esop.esop.auth.dto.EmailLoginRequest request) {
-		return ResponseEntity.ok(this.authService.emailLogin(request.getEmail(), request.getPassword()));
+	public CompletableFuture<ResponseEntity<com.esop.esop.auth.dto.LoginResponse>> emailLogin(
+			@Valid @RequestBody final com.esop.esop.auth.dto.EmailLoginRequest request,
+			final HttpServletRequest httpServletRequest) {
+		return this.authService.emailLogin(request.getEmail(), request.getPassword(), request.getCaptchaToken(),
+				httpServletRequest.getRemoteAddr(), httpServletRequest.getHeader(HttpHeaders.USER_AGENT))
+			.thenApply(ResponseEntity::ok);
+	}
+	
+	@Operation(summary = "Logout, revoking the access token on every instance")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "204", description = "Logout successfully")
+	})
+	@PostMapping("/logout")
+	public ResponseEntity<Void> logout(
+			@RequestHeader(com.esop.esop.security.JwtConst.AUTHORIZATION_HEADER) final String bearerToken) {
+		this.authService.logout(bearerToken);
+		return ResponseEntity.noContent().build();
+	}
+	
+	@Operation(summary = "Logout from every device, revoking all access and refresh tokens of the member")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "204", description = "Logout successfully")
+	})
+	@PostMapping("/logout-all")
+	public ResponseEntity<Void> logoutAll(
+			@RequestHeader(com.esop.esop.security.JwtConst.AUTHORIZATION_HEADER) final String bearerToken) {
+		this.authService.logoutAll(bearerToken);
+		return ResponseEntity.noContent().build();
 	}
 }
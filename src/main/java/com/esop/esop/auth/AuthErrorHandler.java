@@ -14,14 +14,18 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.esop.esop.auth.error.dto.CaptchaRequiredErrorResponse;
 import com.esop.esop.auth.error.dto.InvalidEmailAndPasswordErrorResponse;
 import com.esop.esop.auth.error.dto.InvalidEmailFormatErrorResponse;
 import com.esop.esop.auth.error.dto.InvalidRefreshTokenErrorResponse;
+import com.esop.esop.auth.error.dto.LoginBusyErrorResponse;
+import com.esop.esop.auth.error.dto.LoginLockedErrorResponse;
 import com.esop.esop.auth.error.dto.MemberNotFoundErrorResponse;
 
 @Slf4j
@@ -59,6 +63,35 @@ public class AuthErrorHandler {
 					this.errorMessageTranslator.getErrorMessage("auth.error.invalid-email-format")));
 	}
 	
+	@ExceptionHandler(com.esop.esop.auth.error.LoginLockedError.class)
+	public ResponseEntity<LoginLockedErrorResponse> handleLoginLockedError(
+			final com.esop.esop.auth.error.LoginLockedError loginLockedError) {
+		log.info("LoginLockedError happened.", loginLockedError);
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+			.header(HttpHeaders.RETRY_AFTER, String.valueOf(loginLockedError.getTimeLeft()))
+			.body(new LoginLockedErrorResponse(this.errorMessageTranslator.getErrorMessage("auth.error.login-locked",
+					loginLockedError.getTimeLeft())));
+	}
+	
+	@ExceptionHandler(com.esop.esop.auth.error.CaptchaRequiredError.class)
+	public ResponseEntity<CaptchaRequiredErrorResponse> handleCaptchaRequiredError(
+			final com.esop.esop.auth.error.CaptchaRequiredError captchaRequiredError) {
+		log.info("CaptchaRequiredError happened.", captchaRequiredError);
+		return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+			.body(new CaptchaRequiredErrorResponse(
+					this.errorMessageTranslator.getErrorMessage("auth.error.captcha-required")));
+	}
+	
+	@ExceptionHandler(com.esop.esop.auth.error.LoginBusyError.class)
+	public ResponseEntity<LoginBusyErrorResponse> handleLoginBusyError(
+			final com.esop.esop.auth.error.LoginBusyError loginBusyError) {
+		// No stack trace: this fires for every rejected login during a spike
+		log.debug("LoginBusyError happened, credential verification executor is saturated.");
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+			.header(HttpHeaders.RETRY_AFTER, "1")
+			.body(new LoginBusyErrorResponse(this.errorMessageTranslator.getErrorMessage("auth.error.login-busy")));
+	}
+	
 	@ExceptionHandler(com.esop.esop.auth.error.MemberNotFoundError.class)
 	public ResponseEntity<MemberNotFoundErrorResponse> handleMemberNotFoundError(
 			final com.esop.esop.auth.error.MemberNotFoundError memberNotFoundError) {
@@ -9,12 +9,24 @@
  */
 package com.esop.esop.auth;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.NonNull;
 
+import org.springframework.lang.Nullable;
+
 public interface AuthService {
 	@NonNull
 	com.esop.esop.auth.dto.LoginResponse refreshToken(@NonNull final String encryptedRefreshToken);
 	
 	@NonNull
-	com.esop.esop.auth.dto.LoginResponse emailLogin(@NonNull final String email, @NonNull final String password);
+	CompletableFuture<com.esop.esop.auth.dto.LoginResponse> emailLogin(@NonNull final String email,
+			@NonNull final String password, @Nullable final String captchaToken, @NonNull final String clientIp,
+			@Nullable final String userAgent);
+	
+	void logout(@NonNull final String bearerToken);
+	
+	void logoutAll(@NonNull final String bearerToken);
+	
+	void revokeAllSessions(final long memberId);
 }
@@ -9,15 +9,19 @@
  */
 package com.esop.esop.auth;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.esop.esop.member.MemberCache;
 import com.esop.esop.member.MemberRepository;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class AuthServiceImpl implements AuthService {
@@ -27,52 +31,148 @@ public class AuthServiceImpl implements AuthService {
 	
 	private final MemberRepository memberRepository;
 	
+	private final MemberCache memberCache;
+	
 	private final com.esop.esop.security.JwtTokenManager jwtTokenManager;
 	
 	private final RefreshTokenManager refreshTokenManager;
 	
-	private final PasswordEncoder passwordEncoder;
+	private final CredentialVerifier credentialVerifier;
+	
+	private final com.esop.esop.security.VerifiedTokenCache verifiedTokenCache;
+	
+	private final MemberSessionRedisRepository memberSessionRedisRepository;
 	
+	private final LoginThrottle loginThrottle;
 	
+	
+	/**
+	 * Rotate on use: the presented refresh token is consumed and a new one issued with the access token.
+	 * Presenting a consumed token again means it leaked, so every session of the member is revoked; except within
+	 * the reuse grace window (two tabs, a retry after a timeout), which gets the pair already issued for it.
+	 */
 	@NonNull
-	@Transactional
 	@Override
 	public com.esop.esop.auth.dto.LoginResponse refreshToken(@NonNull final String encryptedRefreshToken) {
 		final com.esop.esop.auth.dto.RefreshToken refreshToken =
 				this.refreshTokenManager.decryptRefreshToken(encryptedRefreshToken);
 		final com.esop.esop.member.model.Member foundMember =
-				this.memberRepository.findById(refreshToken.getMemberId())
+				this.memberCache.findById(refreshToken.getMemberId())
 					.orElseThrow(com.esop.esop.auth.error.MemberNotFoundError::new);
-		this.validateRefreshToken(foundMember.getId(), encryptedRefreshToken);
+		final RefreshTokenRedisRepository.ConsumeResult result =
+				this.consumeRefreshToken(foundMember.getId(), encryptedRefreshToken, refreshToken.getGeneratedAt());
+		if (result == RefreshTokenRedisRepository.ConsumeResult.RECENTLY_ROTATED) {
+			final com.esop.esop.auth.dto.LoginResponse replacement =
+					this.refreshTokenRedisRepository.getReplacement(foundMember.getId(), encryptedRefreshToken);
+			if (replacement == null) {
+				// The rotation that consumed it is still issuing tokens; the client can retry
+				throw new com.esop.esop.auth.error.InvalidRefreshTokenError(encryptedRefreshToken);
+			}
+			return replacement;
+		}
 		final String accessToken = this.jwtTokenManager.generateAccessToken(foundMember.getId(), foundMember.getRole());
-		this.accessTokenRedisRepository.saveAccessToken(accessToken, foundMember.getId());
-		return com.esop.esop.auth.dto.LoginResponse.from(accessToken, encryptedRefreshToken);
+		final String rotatedRefreshToken = this.refreshTokenManager.generateRefreshToken(foundMember.getId());
+		this.saveTokens(foundMember.getId(), accessToken, rotatedRefreshToken);
+		this.refreshTokenRedisRepository.saveReplacement(foundMember.getId(), encryptedRefreshToken, accessToken,
+				rotatedRefreshToken);
+		return com.esop.esop.auth.dto.LoginResponse.from(accessToken, rotatedRefreshToken);
 	}
 	
+	/**
+	 * Throttling is decided before the member is loaded, so locked and captcha-less attempts never reach BCrypt.
+	 * The password check runs on the credential executor; the rest of the login completes on that thread.
+	 * Not transactional: the member lookup is the only DB access and holds its connection for that query only,
+	 * not across hashing, signing and the Redis writes.
+	 */
 	@NonNull
-	@Transactional
 	@Override
-	public com.esop.esop.auth.dto.LoginResponse emailLogin(@NonNull final String email,
-			@NonNull final String password) {
-		final com.esop.esop.member.model.Member foundMember = this.memberRepository.findMemberByEmail(email)
-			.orElseThrow(com.esop.esop.auth.error.MemberNotFoundError::new);
-		this.validateCredential(password, foundMember.getPassword());
-		final String accessToken = this.jwtTokenManager.generateAccessToken(foundMember.getId(), foundMember.getRole());
-		final String refreshToken = this.refreshTokenManager.generateRefreshToken(foundMember.getId());
-		this.accessTokenRedisRepository.saveAccessToken(accessToken, foundMember.getId());
-		this.refreshTokenRedisRepository.saveRefreshToken(refreshToken, foundMember.getId());
-		return com.esop.esop.auth.dto.LoginResponse.from(accessToken, refreshToken);
+	public CompletableFuture<com.esop.esop.auth.dto.LoginResponse> emailLogin(@NonNull final String email,
+			@NonNull final String password, @Nullable final String captchaToken, @NonNull final String clientIp,
+			@Nullable final String userAgent) {
+		final LoginThrottle.Attempt attempt = this.loginThrottle.check(email, clientIp, userAgent, captchaToken);
+		final com.esop.esop.member.model.Member foundMember = this.memberCache.findByEmail(email)
+			.orElse(null);
+		if (foundMember == null) {
+			this.loginThrottle.onFailure(attempt, null, "Member not found");
+			throw new com.esop.esop.auth.error.MemberNotFoundError();
+		}
+		return this.credentialVerifier.matches(password, foundMember.getPassword()).thenApply(matches -> {
+			if (!matches) {
+				this.loginThrottle.onFailure(attempt, foundMember, "Invalid password");
+				throw new com.esop.esop.auth.error.InvalidEmailAndPasswordError();
+			}
+			this.loginThrottle.onSuccess(attempt, foundMember);
+			this.upgradePasswordHash(foundMember, password);
+			final String accessToken =
+					this.jwtTokenManager.generateAccessToken(foundMember.getId(), foundMember.getRole());
+			final String refreshToken = this.refreshTokenManager.generateRefreshToken(foundMember.getId());
+			this.saveTokens(foundMember.getId(), accessToken, refreshToken);
+			return com.esop.esop.auth.dto.LoginResponse.from(accessToken, refreshToken);
+		});
+	}
+	
+	@Override
+	public void logout(@NonNull final String bearerToken) {
+		final String accessToken = this.jwtTokenManager.parseAccessToken(bearerToken);
+		final long memberId = this.jwtTokenManager.extractMemberId(accessToken);
+		this.accessTokenRedisRepository.deleteAccessToken(memberId, accessToken);
+		this.verifiedTokenCache.revokeToken(accessToken);
 	}
 	
-	private void validateCredential(@NonNull final String requestPassword, @NonNull final String encryptedPassword) {
-		if (!passwordEncoder.matches(requestPassword, encryptedPassword)) {
-			throw new com.esop.esop.auth.error.InvalidEmailAndPasswordError();
+	@Override
+	public void logoutAll(@NonNull final String bearerToken) {
+		final String accessToken = this.jwtTokenManager.parseAccessToken(bearerToken);
+		this.revokeAllSessions(this.jwtTokenManager.extractMemberId(accessToken));
+	}
+	
+	@Override
+	public void revokeAllSessions(final long memberId) {
+		this.memberSessionRedisRepository.revokeAll(memberId);
+		this.verifiedTokenCache.revokeMember(memberId);
+	}
+	
+	private void saveTokens(final long memberId, @NonNull final String accessToken,
+			@NonNull final String refreshToken) {
+		this.memberSessionRedisRepository.saveSession(memberId, accessToken, refreshToken);
+	}
+	
+	/**
+	 * Rehash with the current encoder when the stored hash is unprefixed or weaker than the calibrated strength.
+	 * Done once per member, on the first successful login after the encoder changed, without delaying the login.
+	 */
+	private void upgradePasswordHash(@NonNull final com.esop.esop.member.model.Member member,
+			@NonNull final String password) {
+		if (!this.credentialVerifier.upgradeEncoding(member.getPassword())) {
+			return;
 		}
+		this.credentialVerifier.encode(password).thenAccept(newPassword -> {
+			if (newPassword != null) {
+				this.memberRepository.updatePasswordIfUnchanged(member.getId(), member.getPassword(), newPassword);
+				this.memberCache.evict(member.getId());
+			}
+		}).exceptionally(e -> {
+			log.warn("Failed to upgrade the password hash of member {}.", member.getId(), e);
+			return null;
+		});
 	}
 	
-	private void validateRefreshToken(final long memberId, @NonNull final String refreshToken) {
-		if (this.refreshTokenRedisRepository.getRefreshToken(memberId, refreshToken) == null) {
+	@NonNull
+	private RefreshTokenRedisRepository.ConsumeResult consumeRefreshToken(final long memberId,
+			@NonNull final String refreshToken, final long generatedAtInMillis) {
+		final Long tokensValidAfter = this.memberSessionRedisRepository.getTokensValidAfter(memberId);
+		if (tokensValidAfter != null && generatedAtInMillis / 1000 <= tokensValidAfter) {
+			throw new com.esop.esop.auth.error.InvalidRefreshTokenError(refreshToken);
+		}
+		final RefreshTokenRedisRepository.ConsumeResult result =
+				this.refreshTokenRedisRepository.consumeRefreshToken(memberId, refreshToken);
+		if (result == RefreshTokenRedisRepository.ConsumeResult.REUSED) {
+			log.warn("Rotated refresh token of member {} was presented again, revoking all sessions.", memberId);
+			this.revokeAllSessions(memberId);
+		}
+		if (result == RefreshTokenRedisRepository.ConsumeResult.REUSED
+				|| result == RefreshTokenRedisRepository.ConsumeResult.UNKNOWN) {
 			throw new com.esop.esop.auth.error.InvalidRefreshTokenError(refreshToken);
 		}
+		return result;
 	}
 }
@@ -13,20 +13,60 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 
+import com.esop.esop.common.util.TokenHashUtil;
+
+/**
+ * Keys are {@code at:{memberId}:{hash}} / {@code rt:{memberId}:{hash}} where hash is the 22-char compact SHA-256
+ * of the token, instead of embedding the whole token. {@code rr:{memberId}:{hash}} holds the tokens that replaced a
+ * rotated refresh token during the reuse grace window. Legacy keys are only generated to migrate live entries.
+ */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class AuthTokenRedisKeyGenerator {
-	private static final String ACCESS_TOKEN_KEY_FORMAT = "member_id:%d:access_token:%s";
+	private static final String ACCESS_TOKEN_KEY_PREFIX = "at:";
+	
+	private static final String REFRESH_TOKEN_KEY_PREFIX = "rt:";
+	
+	private static final String REFRESH_TOKEN_REPLACEMENT_KEY_PREFIX = "rr:";
+	
+	/** prefix + memberId (max 20 digits) + separator + hash */
+	private static final int MAX_KEY_LENGTH = 3 + 20 + 1 + TokenHashUtil.COMPACT_HASH_LENGTH;
 	
-	private static final String REFRESH_TOKEN_KEY_FORMAT = "member_id:%d:refresh_token:%s";
+	private static final String LEGACY_ACCESS_TOKEN_KEY_FORMAT = "member_id:%d:access_token:%s";
+	
+	private static final String LEGACY_REFRESH_TOKEN_KEY_FORMAT = "member_id:%d:refresh_token:%s";
 	
 	
 	@NonNull
 	public static String generateAccessTokenKey(final long memberId, @NonNull final String accessToken) {
-		return String.format(ACCESS_TOKEN_KEY_FORMAT, memberId, accessToken);
+		return generateKey(ACCESS_TOKEN_KEY_PREFIX, memberId, accessToken);
 	}
 	
 	@NonNull
 	public static String generateRefreshTokenKey(final long memberId, @NonNull final String refreshToken) {
-		return String.format(REFRESH_TOKEN_KEY_FORMAT, memberId, refreshToken);
+		return generateKey(REFRESH_TOKEN_KEY_PREFIX, memberId, refreshToken);
+	}
+	
+	@NonNull
+	public static String generateRefreshTokenReplacementKey(final long memberId, @NonNull final String refreshToken) {
+		return generateKey(REFRESH_TOKEN_REPLACEMENT_KEY_PREFIX, memberId, refreshToken);
+	}
+	
+	@NonNull
+	public static String generateLegacyAccessTokenKey(final long memberId, @NonNull final String accessToken) {
+		return String.format(LEGACY_ACCESS_TOKEN_KEY_FORMAT, memberId, accessToken);
+	}
+	
+	@NonNull
+	public static String generateLegacyRefreshTokenKey(final long memberId, @NonNull final String refreshToken) {
+		return String.format(LEGACY_REFRESH_TOKEN_KEY_FORMAT, memberId, refreshToken);
+	}
+	
+	private static String generateKey(final String prefix, final long memberId, final String token) {
+		return new StringBuilder(MAX_KEY_LENGTH)
+			.append(prefix)
+			.append(memberId)
+			.append(':')
+			.append(TokenHashUtil.compactHash(token))
+			.toString();
 	}
 }
@@ -0,0 +1,20 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.auth;
+
+import lombok.NonNull;
+
+/**
+ * Verifies the captcha response sent with a login that {@link LoginThrottle} flagged as captcha-required.
+ * Without a CaptchaVerifier bean such logins are rejected until the failure window has passed.
+ */
+public interface CaptchaVerifier {
+	boolean verify(@NonNull final String captchaToken, @NonNull final String clientIp);
+}
@@ -0,0 +1,55 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.auth;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Slf4j
+@Configuration
+public class CredentialVerificationConfig {
+	
+	/**
+	 * Password hashing is CPU-bound, so the pool is sized to the cores (pool-size 0) and never grows.
+	 * When every thread is hashing and the queue is full, new logins are rejected at once (503) instead of
+	 * holding servlet threads that other API calls need.
+	 */
+	@Bean(name = "credentialVerificationExecutor")
+	public Executor credentialVerificationExecutor(MeterRegistry meterRegistry,
+			@Value("${esop.auth.credential-verification.pool-size:0}") int poolSize,
+			@Value("${esop.auth.credential-verification.queue-capacity:64}") int queueCapacity) {
+		int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("credential-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(10);
+		executor.initialize();
+		new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "credentialVerificationExecutor",
+				List.of(Tag.of("name", "credentialVerificationExecutor"))).bindTo(meterRegistry);
+		
+		log.info("✅ Credential Verification Executor initialized: threads={}, queueCapacity={}", threads,
+				queueCapacity);
+		return executor;
+	}
+}
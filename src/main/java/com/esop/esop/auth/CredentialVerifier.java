@@ -0,0 +1,71 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.auth;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs password hashing on the bounded credentialVerificationExecutor instead of the servlet thread.
+ */
+@Component
+public class CredentialVerifier {
+	private final PasswordEncoder passwordEncoder;
+	
+	private final Executor executor;
+	
+	
+	public CredentialVerifier(final PasswordEncoder passwordEncoder,
+			@Qualifier("credentialVerificationExecutor") final Executor executor) {
+		this.passwordEncoder = passwordEncoder;
+		this.executor = executor;
+	}
+	
+	/**
+	 * @throws com.esop.esop.auth.error.LoginBusyError when the executor is saturated
+	 */
+	@NonNull
+	public CompletableFuture<Boolean> matches(@NonNull final String rawPassword,
+			@NonNull final String encodedPassword) {
+		return this.submit(() -> this.passwordEncoder.matches(rawPassword, encodedPassword));
+	}
+	
+	/**
+	 * Hash with the current encoder on the executor; completes with null when it is saturated, as rehashing can wait.
+	 */
+	@NonNull
+	public CompletableFuture<String> encode(@NonNull final String rawPassword) {
+		try {
+			return this.submit(() -> this.passwordEncoder.encode(rawPassword));
+		} catch (com.esop.esop.auth.error.LoginBusyError e) {
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+	
+	public boolean upgradeEncoding(@NonNull final String encodedPassword) {
+		return this.passwordEncoder.upgradeEncoding(encodedPassword);
+	}
+	
+	private <T> CompletableFuture<T> submit(final Supplier<T> task) {
+		try {
+			return CompletableFuture.supplyAsync(task, this.executor);
+		} catch (RejectedExecutionException e) {
+			throw new com.esop.esop.auth.error.LoginBusyError();
+		}
+	}
+}
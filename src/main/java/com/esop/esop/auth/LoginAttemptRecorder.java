@@ -0,0 +1,156 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.auth;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Writes login_attempts off the request path. Attempts are queued in memory and inserted by a scheduled flush as
+ * multi-row INSERTs, so a flood of attempts costs a few statements per second instead of one per attempt.
+ * The queue is bounded: when it is full, attempts are dropped and counted rather than slowing down logins.
+ */
+@Slf4j
+@Component
+public class LoginAttemptRecorder {
+	private static final String INSERT_PREFIX = "INSERT INTO login_attempts (member_id, email, login_type, status, "
+			+ "failure_reason, ip_address, user_agent, captcha_required, attempted_at) VALUES ";
+	
+	private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	
+	private static final int MAX_EMAIL_LENGTH = 255;
+	
+	private static final int MAX_IP_ADDRESS_LENGTH = 45;
+	
+	private static final int MAX_USER_AGENT_LENGTH = 512;
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	private final BlockingQueue<LoginAttempt> queue;
+	
+	private final int batchSize;
+	
+	private final Counter droppedCounter;
+	
+	
+	public LoginAttemptRecorder(final JdbcTemplate jdbcTemplate, final MeterRegistry meterRegistry,
+			@Value("${esop.auth.login-attempts.queue-capacity:10000}") final int queueCapacity,
+			@Value("${esop.auth.login-attempts.batch-size:500}") final int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = Math.max(1, batchSize);
+		this.droppedCounter = Counter.builder("auth.login_attempts.dropped")
+			.description("Login attempts not written because the queue was full")
+			.register(meterRegistry);
+		meterRegistry.gauge("auth.login_attempts.queued", this.queue, BlockingQueue::size);
+	}
+	
+	public void record(@NonNull final LoginAttempt loginAttempt) {
+		if (!this.queue.offer(loginAttempt)) {
+			this.droppedCounter.increment();
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${esop.auth.login-attempts.flush-interval-ms:1000}")
+	public void flush() {
+		final List<LoginAttempt> batch = new ArrayList<>(this.batchSize);
+		while (this.queue.drainTo(batch, this.batchSize) > 0) {
+			this.insert(batch);
+			batch.clear();
+		}
+	}
+	
+	@PreDestroy
+	public void flushOnShutdown() {
+		this.flush();
+	}
+	
+	private void insert(final List<LoginAttempt> batch) {
+		final StringBuilder sql =
+				new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDERS.length() + 2))
+					.append(INSERT_PREFIX);
+		for (int i = 0; i < batch.size(); i++) {
+			sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+		}
+		try {
+			this.jdbcTemplate.update(sql.toString(), preparedStatement -> {
+				int index = 1;
+				for (final LoginAttempt loginAttempt : batch) {
+					index = bind(preparedStatement, index, loginAttempt);
+				}
+			});
+		} catch (DataAccessException e) {
+			log.warn("Failed to write {} login attempts.", batch.size(), e);
+		}
+	}
+	
+	private static int bind(final PreparedStatement preparedStatement, int index, final LoginAttempt loginAttempt)
+			throws SQLException {
+		if (loginAttempt.memberId() == null) {
+			preparedStatement.setNull(index++, Types.BIGINT);
+		} else {
+			preparedStatement.setLong(index++, loginAttempt.memberId());
+		}
+		preparedStatement.setString(index++, truncate(loginAttempt.email(), MAX_EMAIL_LENGTH));
+		preparedStatement.setString(index++, loginAttempt.loginType());
+		preparedStatement.setString(index++, loginAttempt.status().getValue());
+		preparedStatement.setString(index++, loginAttempt.failureReason());
+		preparedStatement.setString(index++, truncate(loginAttempt.ipAddress(), MAX_IP_ADDRESS_LENGTH));
+		preparedStatement.setString(index++, truncate(loginAttempt.userAgent(), MAX_USER_AGENT_LENGTH));
+		preparedStatement.setBoolean(index++, loginAttempt.captchaRequired());
+		preparedStatement.setTimestamp(index++, Timestamp.from(loginAttempt.attemptedAt()));
+		return index;
+	}
+	
+	private static String truncate(@Nullable final String value, final int maxLength) {
+		return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+	}
+	
+	/**
+	 * @param loginType login_type column value, Admin or User
+	 */
+	public record LoginAttempt(@Nullable Long memberId, String email, String loginType, Status status,
+			@Nullable String failureReason, String ipAddress, @Nullable String userAgent, boolean captchaRequired,
+			Instant attemptedAt) {
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public enum Status {
+		SUCCESS("Success"),
+		FAILED("Failed"),
+		LOCKED("Locked");
+		
+		private final String value;
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.auth;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Login throttling and lockout, decided from Redis counters before the member is loaded or BCrypt runs.
+ * <ul>
+ * <li>email locked, or its IP over ip-block-threshold failures: rejected as locked</li>
+ * <li>email over captcha-threshold or IP over ip-captcha-threshold failures: a verified captcha is required,
+ * only when a {@link CaptchaVerifier} bean exists (otherwise the lock thresholds alone apply)</li>
+ * <li>email reaching lock-threshold failures: locked for lock-duration-seconds</li>
+ * </ul>
+ * Every attempt, including rejected ones, is handed to {@link LoginAttemptRecorder}.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+	private static final String ADMIN_LOGIN_TYPE = "Admin";
+	
+	private static final String USER_LOGIN_TYPE = "User";
+	
+	private final LoginThrottleRedisRepository loginThrottleRedisRepository;
+	
+	private final LoginAttemptRecorder loginAttemptRecorder;
+	
+	private final ObjectProvider<CaptchaVerifier> captchaVerifier;
+	
+	private final long windowInMillis;
+	
+	private final int captchaThreshold;
+	
+	private final int lockThreshold;
+	
+	private final long lockDurationInMillis;
+	
+	private final int ipCaptchaThreshold;
+	
+	private final int ipBlockThreshold;
+	
+	
+	public LoginThrottle(final LoginThrottleRedisRepository loginThrottleRedisRepository,
+			final LoginAttemptRecorder loginAttemptRecorder, final ObjectProvider<CaptchaVerifier> captchaVerifier,
+			@Value("${esop.auth.login-throttle.window-seconds:900}") final long windowInSeconds,
+			@Value("${esop.auth.login-throttle.captcha-threshold:3}") final int captchaThreshold,
+			@Value("${esop.auth.login-throttle.lock-threshold:10}") final int lockThreshold,
+			@Value("${esop.auth.login-throttle.lock-duration-seconds:900}") final long lockDurationInSeconds,
+			@Value("${esop.auth.login-throttle.ip-captcha-threshold:20}") final int ipCaptchaThreshold,
+			@Value("${esop.auth.login-throttle.ip-block-threshold:100}") final int ipBlockThreshold) {
+		this.loginThrottleRedisRepository = loginThrottleRedisRepository;
+		this.loginAttemptRecorder = loginAttemptRecorder;
+		this.captchaVerifier = captchaVerifier;
+		this.windowInMillis = TimeUnit.SECONDS.toMillis(windowInSeconds);
+		this.captchaThreshold = captchaThreshold;
+		this.lockThreshold = lockThreshold;
+		this.lockDurationInMillis = TimeUnit.SECONDS.toMillis(lockDurationInSeconds);
+		this.ipCaptchaThreshold = ipCaptchaThreshold;
+		this.ipBlockThreshold = ipBlockThreshold;
+	}
+	
+	/**
+	 * Decide whether the attempt may go on to the password check.
+	 *
+	 * @throws com.esop.esop.auth.error.LoginLockedError when the email is locked or the IP is blocked
+	 * @throws com.esop.esop.auth.error.CaptchaRequiredError when a captcha is required and not verified
+	 */
+	@NonNull
+	public Attempt check(@NonNull final String email, @NonNull final String clientIp, @Nullable final String userAgent,
+			@Nullable final String captchaToken) {
+		final LoginThrottleRedisRepository.FailureCounts counts =
+				this.loginThrottleRedisRepository.read(email, clientIp, this.windowInMillis);
+		final CaptchaVerifier verifier = this.captchaVerifier.getIfAvailable();
+		final boolean captchaRequired = verifier != null && (counts.emailFailures() >= this.captchaThreshold
+				|| counts.ipFailures() >= this.ipCaptchaThreshold);
+		final Attempt attempt = new Attempt(email, clientIp, userAgent, captchaRequired);
+		
+		if (counts.lockTtlInMillis() > 0 || counts.ipFailures() >= this.ipBlockThreshold) {
+			this.record(attempt, null, null, LoginAttemptRecorder.Status.LOCKED, "Locked");
+			final long timeLeftInMillis = counts.lockTtlInMillis() > 0 ? counts.lockTtlInMillis() : this.windowInMillis;
+			throw new com.esop.esop.auth.error.LoginLockedError(TimeUnit.MILLISECONDS.toSeconds(timeLeftInMillis) + 1);
+		}
+		if (captchaRequired && !this.verifyCaptcha(verifier, captchaToken, clientIp)) {
+			this.record(attempt, null, null, LoginAttemptRecorder.Status.FAILED, "Captcha required");
+			throw new com.esop.esop.auth.error.CaptchaRequiredError();
+		}
+		return attempt;
+	}
+	
+	/**
+	 * Count a failed password check or unknown email against the email and the IP, locking the email on threshold.
+	 */
+	public void onFailure(@NonNull final Attempt attempt, @Nullable final com.esop.esop.member.model.Member member,
+			@NonNull final String failureReason) {
+		final long lockedForInMillis = this.loginThrottleRedisRepository.recordFailure(attempt.email(),
+				attempt.clientIp(), this.windowInMillis, this.lockThreshold, this.lockDurationInMillis,
+				Math.max(this.lockThreshold, this.ipBlockThreshold));
+		if (lockedForInMillis > 0) {
+			log.warn("Login for {} locked for {} seconds after {} failures.", attempt.email(),
+					TimeUnit.MILLISECONDS.toSeconds(lockedForInMillis), this.lockThreshold);
+		}
+		this.record(attempt, member == null ? null : member.getId(), member == null ? null : member.getRole(),
+				lockedForInMillis > 0 ? LoginAttemptRecorder.Status.LOCKED : LoginAttemptRecorder.Status.FAILED,
+				failureReason);
+	}
+	
+	public void onSuccess(@NonNull final Attempt attempt, @NonNull final com.esop.esop.member.model.Member member) {
+		this.loginThrottleRedisRepository.clearFailures(attempt.email());
+		this.record(attempt, member.getId(), member.getRole(), LoginAttemptRecorder.Status.SUCCESS, null);
+	}
+	
+	private boolean verifyCaptcha(final CaptchaVerifier verifier, @Nullable final String captchaToken,
+			final String clientIp) {
+		return captchaToken != null && !captchaToken.isBlank() && verifier.verify(captchaToken, clientIp);
+	}
+	
+	private void record(final Attempt attempt, @Nullable final Long memberId,
+			@Nullable final com.esop.esop.member.model.Role role, final LoginAttemptRecorder.Status status,
+			@Nullable final String failureReason) {
+		this.loginAttemptRecorder.record(new LoginAttemptRecorder.LoginAttempt(memberId, attempt.email(),
+				role == com.esop.esop.member.model.Role.ADMIN ? ADMIN_LOGIN_TYPE : USER_LOGIN_TYPE, status,
+				failureReason, attempt.clientIp(), attempt.userAgent(), attempt.captchaRequired(), Instant.now()));
+	}
+	
+	/**
+	 * An attempt that passed {@link #check}; passed back to report its outcome.
+	 */
+	public record Attempt(String email, String clientIp, @Nullable String userAgent, boolean captchaRequired) {
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.auth;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.esop.esop.common.util.TokenHashUtil;
+
+/**
+ * Sliding-window login failure counters.
+ * <ul>
+ * <li>lf:e:{emailHash} / lf:ip:{ip} - sorted sets of failure timestamps (epoch millis), trimmed to the window</li>
+ * <li>ll:{emailHash} - lock marker, expires when the lock ends</li>
+ * </ul>
+ * The braces are Redis Cluster hash tags: the email counter and its lock share a slot, so the script that counts
+ * and locks can touch both. The IP counter lives elsewhere and is updated with plain commands in the same pipeline,
+ * so reading and recording still cost a single round trip each.
+ */
+@Component
+public class LoginThrottleRedisRepository extends com.esop.esop.common.redis.AbstractRedisRepository<String, String> {
+	private static final String EMAIL_FAILURES_KEY_FORMAT = "lf:e:{%s}";
+	
+	private static final String IP_FAILURES_KEY_PREFIX = "lf:ip:";
+	
+	private static final String LOCK_KEY_FORMAT = "ll:{%s}";
+	
+	/**
+	 * Adds the failure to the email window (capped at ARGV[5] entries) and locks the email once the window holds
+	 * ARGV[4] failures. Returns the lock duration in millis, 0 if not locked.
+	 */
+	private static final RedisScript<Long> RECORD_EMAIL_FAILURE_SCRIPT = new DefaultRedisScript<>(
+			"redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', tonumber(ARGV[1]) - tonumber(ARGV[2])) "
+					+ "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[3]) "
+					+ "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -tonumber(ARGV[5]) - 1) "
+					+ "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+					+ "if redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[4]) then "
+					+ "redis.call('SET', KEYS[2], '1', 'PX', ARGV[6]) "
+					+ "return tonumber(ARGV[6]) "
+					+ "end "
+					+ "return 0",
+			Long.class);
+	
+	
+	public LoginThrottleRedisRepository(RedisTemplate<String, String> redisTemplate) {
+		super(redisTemplate);
+	}
+	
+	@NonNull
+	public FailureCounts read(@NonNull final String email, @NonNull final String clientIp, final long windowInMillis) {
+		final String emailHash = emailHash(email);
+		final String emailKey = String.format(EMAIL_FAILURES_KEY_FORMAT, emailHash);
+		final String ipKey = IP_FAILURES_KEY_PREFIX + clientIp;
+		final double since = System.currentTimeMillis() - windowInMillis;
+		final List<Object> results = this.executePipelined(operations -> {
+			operations.opsForZSet().removeRangeByScore(emailKey, Double.NEGATIVE_INFINITY, since);
+			operations.opsForZSet().removeRangeByScore(ipKey, Double.NEGATIVE_INFINITY, since);
+			operations.getExpire(String.format(LOCK_KEY_FORMAT, emailHash), TimeUnit.MILLISECONDS);
+			operations.opsForZSet().zCard(emailKey);
+			operations.opsForZSet().zCard(ipKey);
+		});
+		return new FailureCounts(Math.max(0, toLong(results.get(2))), toLong(results.get(3)),
+				toLong(results.get(4)));
+	}
+	
+	/**
+	 * @param maxTracked failures kept per window; counts never need to exceed the highest threshold
+	 * @return lock duration in millis if this failure locked the email, otherwise 0
+	 */
+	public long recordFailure(@NonNull final String email, @NonNull final String clientIp, final long windowInMillis,
+			final int lockThreshold, final long lockDurationInMillis, final int maxTracked) {
+		final String emailHash = emailHash(email);
+		final String ipKey = IP_FAILURES_KEY_PREFIX + clientIp;
+		final long now = System.currentTimeMillis();
+		final String member = now + ":" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+		final List<Object> results = this.executePipelined(operations -> {
+			operations.execute(RECORD_EMAIL_FAILURE_SCRIPT,
+					List.of(String.format(EMAIL_FAILURES_KEY_FORMAT, emailHash),
+						    String.format(LOCK_KEY_FORMAT, emailHash)),
+					String.valueOf(now), String.valueOf(windowInMillis), member, String.valueOf(lockThreshold),
+					String.valueOf(maxTracked), String.valueOf(lockDurationInMillis));
+			operations.opsForZSet().removeRangeByScore(ipKey, Double.NEGATIVE_INFINITY, now - windowInMillis);
+			operations.opsForZSet().add(ipKey, member, now);
+			operations.opsForZSet().removeRange(ipKey, 0, -maxTracked - 1L);
+			operations.expire(ipKey, windowInMillis, TimeUnit.MILLISECONDS);
+		});
+		return toLong(results.get(0));
+	}
+	
+	/**
+	 * Forget the email's failures after a successful login; the IP window is kept.
+	 */
+	public void clearFailures(@NonNull final String email) {
+		this.delete(String.format(EMAIL_FAILURES_KEY_FORMAT, emailHash(email)));
+	}
+	
+	private static String emailHash(final String email) {
+		return TokenHashUtil.compactHash(email.trim().toLowerCase(Locale.ROOT));
+	}
+	
+	private static long toLong(final Object value) {
+		return value instanceof Number number ? number.longValue() : 0;
+	}
+	
+	/**
+	 * @param lockTtlInMillis remaining lock time, 0 if the email is not locked
+	 */
+	public record FailureCounts(long lockTtlInMillis, long emailFailures, long ipFailures) {
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.auth;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-member session index and revocation epoch.
+ * <ul>
+ * <li>sess:{memberId} - sorted set of the member's token keys scored by expiry (epoch seconds); expired members
+ * are pruned on every write, so the set never outgrows the live sessions</li>
+ * <li>tva:{memberId} - tokens valid after (epoch seconds); tokens issued in or before that second are rejected,
+ * since iat only has second precision</li>
+ * </ul>
+ * Revoking all sessions sets the epoch and deletes the indexed keys: no keyspace scan.
+ */
+@Component
+public class MemberSessionRedisRepository extends com.esop.esop.common.redis.AbstractRedisRepository<String, String> {
+	private static final String SESSION_INDEX_KEY_PREFIX = "sess:";
+	
+	private static final String TOKENS_VALID_AFTER_KEY_PREFIX = "tva:";
+	
+	/** Index and epoch outlive every token they cover */
+	private static final long INDEX_TTL_IN_SECONDS =
+			com.esop.esop.common.redis.RedisConst.DEFAULT_REFRESH_TOKEN_TTL_IN_SECONDS;
+	
+	
+	public MemberSessionRedisRepository(RedisTemplate<String, String> redisTemplate) {
+		super(redisTemplate);
+	}
+	
+	@NonNull
+	public static String generateTokensValidAfterKey(final long memberId) {
+		return TOKENS_VALID_AFTER_KEY_PREFIX + memberId;
+	}
+	
+	/**
+	 * Store a new access/refresh token pair and index both keys, pipelined into a single round trip.
+	 */
+	public void saveSession(final long memberId, @NonNull final String accessToken,
+			@NonNull final String refreshToken) {
+		final String indexKey = SESSION_INDEX_KEY_PREFIX + memberId;
+		final String accessTokenKey = AuthTokenRedisKeyGenerator.generateAccessTokenKey(memberId, accessToken);
+		final String refreshTokenKey = AuthTokenRedisKeyGenerator.generateRefreshTokenKey(memberId, refreshToken);
+		final String value = String.valueOf(memberId);
+		final long accessTokenTtl = com.esop.esop.common.redis.RedisConst.DEFAULT_ACCESS_TOKEN_TTL_IN_SECONDS;
+		final long refreshTokenTtl = com.esop.esop.common.redis.RedisConst.DEFAULT_REFRESH_TOKEN_TTL_IN_SECONDS;
+		final long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+		
+		this.executePipelined(operations -> {
+			operations.opsForValue().set(accessTokenKey, value, accessTokenTtl, TimeUnit.SECONDS);
+			operations.opsForValue().set(refreshTokenKey, value, refreshTokenTtl, TimeUnit.SECONDS);
+			operations.opsForZSet().add(indexKey, accessTokenKey, now + accessTokenTtl);
+			operations.opsForZSet().add(indexKey, refreshTokenKey, now + refreshTokenTtl);
+			operations.opsForZSet().removeRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+			operations.expire(indexKey, INDEX_TTL_IN_SECONDS, TimeUnit.SECONDS);
+		});
+	}
+	
+	/**
+	 * Epoch second up to which (inclusive) the member's tokens are revoked, null if never revoked.
+	 */
+	@Nullable
+	public Long getTokensValidAfter(final long memberId) {
+		return parseEpoch(this.get(generateTokensValidAfterKey(memberId)));
+	}
+	
+	/**
+	 * Revoke every token of the member issued up to now and delete the indexed token keys.
+	 */
+	public void revokeAll(final long memberId) {
+		this.set(generateTokensValidAfterKey(memberId),
+				String.valueOf(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())), INDEX_TTL_IN_SECONDS);
+		
+		final String indexKey = SESSION_INDEX_KEY_PREFIX + memberId;
+		final Set<String> tokenKeys = this.redisTemplate.opsForZSet().range(indexKey, 0, -1);
+		final List<String> keys = new ArrayList<>(tokenKeys == null ? List.of() : tokenKeys);
+		keys.add(indexKey);
+		this.deleteAll(keys);
+	}
+	
+	@Nullable
+	public static Long parseEpoch(@Nullable final String value) {
+		if (value == null) {
+			return null;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
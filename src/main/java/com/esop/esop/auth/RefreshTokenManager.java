@@ -9,24 +9,66 @@
  */
 package com.esop.esop.auth;
 
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.codec.Hex;
 import org.springframework.security.crypto.encrypt.Encryptors;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.esop.esop.auth.error.FailedToGenerateRefreshTokenError;
 import com.esop.esop.auth.error.InvalidRefreshTokenError;
 
+/**
+ * Refresh tokens are 71 URL-safe base64 chars: version (1) | IV (12) | AES-GCM(memberId (8) | issuedAt (8) |
+ * nonce (8)) | tag (16), with the version authenticated as associated data.
+ * The AES key is derived once at startup, so a token costs one AES-GCM operation and no JSON.
+ * Tokens of the former JSON + Encryptors.text format are still accepted until they are rotated.
+ */
 @Slf4j
 @Component
 public class RefreshTokenManager {
-	private final TextEncryptor encryptor;
+	private static final byte VERSION = 1;
+	
+	private static final int IV_LENGTH = 12;
+	
+	private static final int NONCE_LENGTH = 8;
+	
+	private static final int TAG_LENGTH = 16;
+	
+	private static final int PAYLOAD_LENGTH = Long.BYTES + Long.BYTES + NONCE_LENGTH;
+	
+	private static final int TOKEN_BYTES = 1 + IV_LENGTH + PAYLOAD_LENGTH + TAG_LENGTH;
+	
+	private static final int TOKEN_LENGTH = (TOKEN_BYTES * 8 + 5) / 6;
+	
+	private static final int KEY_DERIVATION_ITERATIONS = 65536;
+	
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+	
+	private final SecretKey key;
+	
+	private final SecureRandom secureRandom = new SecureRandom();
+	
+	private final TextEncryptor legacyEncryptor;
 	
 	private final ObjectMapper objectMapper;
 	
@@ -34,18 +76,27 @@ public class RefreshTokenManager {
 	public RefreshTokenManager(@Value("${esop.security.aes256.password}") final String password,
 			@Value("${esop.security.aes256.salt}") final String salt,
 			final ObjectMapper objectMapper) {
-		this.encryptor = Encryptors.text(password, salt);
+		this.key = deriveKey(password, salt);
+		this.legacyEncryptor = Encryptors.text(password, salt);
 		this.objectMapper = objectMapper;
 	}
 	
 	@NonNull
 	public String generateRefreshToken(final long memberId) {
+		final byte[] iv = new byte[IV_LENGTH];
+		final byte[] nonce = new byte[NONCE_LENGTH];
+		this.secureRandom.nextBytes(iv);
+		this.secureRandom.nextBytes(nonce);
+		final byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+			.putLong(memberId)
+			.putLong(System.currentTimeMillis())
+			.put(nonce)
+			.array();
 		try {
-			final String refreshToken = this.objectMapper.writeValueAsString(
-					com.esop.esop.auth.dto.RefreshToken.builder().memberId(memberId)
-						.generatedAt(System.currentTimeMillis()).build());
-			return this.encryptor.encrypt(refreshToken);
-		} catch (final JsonProcessingException e) {
+			final ByteBuffer token = ByteBuffer.allocate(TOKEN_BYTES).put(VERSION).put(iv);
+			this.cipher(Cipher.ENCRYPT_MODE, iv).doFinal(ByteBuffer.wrap(payload), token);
+			return ENCODER.encodeToString(token.array());
+		} catch (final GeneralSecurityException e) {
 			log.error("Failed to generate refresh token", e);
 			throw new FailedToGenerateRefreshTokenError();
 		}
@@ -53,12 +104,56 @@ public class RefreshTokenManager {
 	
 	@NonNull
 	public com.esop.esop.auth.dto.RefreshToken decryptRefreshToken(@NonNull final String encryptedToken) {
+		if (encryptedToken.length() != TOKEN_LENGTH) {
+			return this.decryptLegacyRefreshToken(encryptedToken);
+		}
+		try {
+			final byte[] token = DECODER.decode(encryptedToken);
+			if (token.length != TOKEN_BYTES || token[0] != VERSION) {
+				throw new InvalidRefreshTokenError(encryptedToken);
+			}
+			final byte[] iv = new byte[IV_LENGTH];
+			System.arraycopy(token, 1, iv, 0, IV_LENGTH);
+			final ByteBuffer payload = ByteBuffer.wrap(this.cipher(Cipher.DECRYPT_MODE, iv)
+				.doFinal(token, 1 + IV_LENGTH, token.length - 1 - IV_LENGTH));
+			return com.esop.esop.auth.dto.RefreshToken.builder()
+				.memberId(payload.getLong())
+				.generatedAt(payload.getLong())
+				.build();
+		} catch (final IllegalArgumentException | GeneralSecurityException e) {
+			log.info("Failed to decrypt refreshToken: {}", encryptedToken, e);
+			throw new InvalidRefreshTokenError(encryptedToken);
+		}
+	}
+	
+	private com.esop.esop.auth.dto.RefreshToken decryptLegacyRefreshToken(final String encryptedToken) {
 		try {
-			final String decryptedToken = this.encryptor.decrypt(encryptedToken);
+			final String decryptedToken = this.legacyEncryptor.decrypt(encryptedToken);
 			return this.objectMapper.readValue(decryptedToken, com.esop.esop.auth.dto.RefreshToken.class);
 		} catch (final Exception e) {
 			log.info("Failed to decrypt refreshToken: {}", encryptedToken, e);
 			throw new InvalidRefreshTokenError(encryptedToken);
 		}
 	}
+	
+	/** Cipher instances are not thread-safe and cheap to obtain; the key is shared */
+	private Cipher cipher(final int mode, final byte[] iv) throws GeneralSecurityException {
+		final Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+		cipher.init(mode, this.key, new GCMParameterSpec(TAG_LENGTH * 8, iv));
+		cipher.updateAAD(new byte[] {VERSION});
+		return cipher;
+	}
+	
+	private static SecretKey deriveKey(final String password, final String salt) {
+		try {
+			final PBEKeySpec keySpec =
+					new PBEKeySpec(password.toCharArray(), Hex.decode(salt), KEY_DERIVATION_ITERATIONS, 256);
+			final byte[] keyBytes =
+					SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(keySpec).getEncoded();
+			keySpec.clearPassword();
+			return new SecretKeySpec(keyBytes, "AES");
+		} catch (final GeneralSecurityException e) {
+			throw new IllegalStateException("Failed to derive refresh token key", e);
+		}
+	}
 }
@@ -9,25 +9,134 @@
  */
 package com.esop.esop.auth;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import lombok.NonNull;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 @Component
 public class RefreshTokenRedisRepository extends com.esop.esop.common.redis.AbstractRedisRepository<String, String> {
-	public RefreshTokenRedisRepository(RedisTemplate<String, String> redisTemplate) {
+	/**
+	 * Value left under the key of a rotated token, followed by the rotation time in epoch millis,
+	 * so presenting it again is detected as reuse
+	 */
+	private static final String ROTATED_MARKER = "rotated";
+	
+	private static final char ROTATED_AT_SEPARATOR = ':';
+	
+	private static final char REPLACEMENT_SEPARATOR = ' ';
+	
+	/**
+	 * Returns the stored value and replaces a live one with ARGV[1], atomically.
+	 * A value already starting with ARGV[3] is left as is, so reuse never moves the rotation time.
+	 */
+	private static final RedisScript<String> CONSUME_SCRIPT = new DefaultRedisScript<>(
+			"local value = redis.call('GET', KEYS[1]) "
+					+ "if value and string.sub(value, 1, #ARGV[3]) ~= ARGV[3] then "
+					+ "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) "
+					+ "end "
+					+ "return value",
+			String.class);
+	
+	/** Also look up keys of the former full-token scheme, migrating them on first read */
+	private final boolean legacyKeyFallback;
+	
+	private final long reuseDetectionWindowInSeconds;
+	
+	/** How long after a rotation presenting the old token again returns the replacement instead of counting as reuse */
+	private final long reuseGraceInSeconds;
+	
+	
+	public RefreshTokenRedisRepository(RedisTemplate<String, String> redisTemplate,
+			@Value("${esop.auth.redis.legacy-key-fallback:true}") final boolean legacyKeyFallback,
+			@Value("${esop.auth.refresh-token.reuse-detection-window-seconds:604800}")
+			final long reuseDetectionWindowInSeconds,
+			@Value("${esop.auth.refresh-token.reuse-grace-seconds:30}") final long reuseGraceInSeconds) {
 		super(redisTemplate);
+		this.legacyKeyFallback = legacyKeyFallback;
+		this.reuseDetectionWindowInSeconds = reuseDetectionWindowInSeconds;
+		this.reuseGraceInSeconds = reuseGraceInSeconds;
 	}
 	
+	/**
+	 * Consume the token for rotation: a live token is marked rotated and reported VALID, a token rotated less than
+	 * the grace window ago is reported RECENTLY_ROTATED, an older rotated one REUSED, anything else (expired,
+	 * logged out, unknown) UNKNOWN.
+	 */
+	@NonNull
+	public ConsumeResult consumeRefreshToken(final long memberId, @NonNull final String refreshToken) {
+		final String key = AuthTokenRedisKeyGenerator.generateRefreshTokenKey(memberId, refreshToken);
+		final long now = System.currentTimeMillis();
+		String value = this.consume(key, now);
+		if (value == null && this.legacyKeyFallback && this.getMigratingFrom(key,
+				AuthTokenRedisKeyGenerator.generateLegacyRefreshTokenKey(memberId, refreshToken)) != null) {
+			value = this.consume(key, now);
+		}
+		if (value == null) {
+			return ConsumeResult.UNKNOWN;
+		}
+		if (!value.startsWith(ROTATED_MARKER)) {
+			return ConsumeResult.VALID;
+		}
+		return now - rotatedAt(value) < TimeUnit.SECONDS.toMillis(this.reuseGraceInSeconds)
+				? ConsumeResult.RECENTLY_ROTATED
+				: ConsumeResult.REUSED;
+	}
+	
+	/**
+	 * Keep the tokens issued for a consumed refresh token for the grace window, so a concurrent or retried refresh
+	 * with the consumed token gets the same pair. Stored in clear for that short window only.
+	 */
+	public void saveReplacement(final long memberId, @NonNull final String consumedRefreshToken,
+			@NonNull final String accessToken, @NonNull final String refreshToken) {
+		if (this.reuseGraceInSeconds > 0) {
+			this.set(AuthTokenRedisKeyGenerator.generateRefreshTokenReplacementKey(memberId, consumedRefreshToken),
+					accessToken + REPLACEMENT_SEPARATOR + refreshToken, this.reuseGraceInSeconds);
+		}
+	}
+	
+	/**
+	 * @return tokens issued for the consumed token, or null when not (or no longer) stored
+	 */
 	@Nullable
-	public String getRefreshToken(final long memberId, @NonNull final String refreshToken) {
-		return this.get(AuthTokenRedisKeyGenerator.generateRefreshTokenKey(memberId, refreshToken));
+	public com.esop.esop.auth.dto.LoginResponse getReplacement(final long memberId,
+			@NonNull final String consumedRefreshToken) {
+		final String value =
+				this.get(AuthTokenRedisKeyGenerator.generateRefreshTokenReplacementKey(memberId, consumedRefreshToken));
+		final int separator = value == null ? -1 : value.indexOf(REPLACEMENT_SEPARATOR);
+		return separator < 0
+				? null
+				: com.esop.esop.auth.dto.LoginResponse.from(value.substring(0, separator),
+						value.substring(separator + 1));
+	}
+	
+	private String consume(final String key, final long now) {
+		return this.redisTemplate.execute(CONSUME_SCRIPT, List.of(key), ROTATED_MARKER + ROTATED_AT_SEPARATOR + now,
+				String.valueOf(this.reuseDetectionWindowInSeconds), ROTATED_MARKER);
+	}
+	
+	/** Rotation time of a marker, 0 for markers written before the time was recorded */
+	private static long rotatedAt(final String marker) {
+		try {
+			return marker.length() > ROTATED_MARKER.length() + 1
+					? Long.parseLong(marker.substring(ROTATED_MARKER.length() + 1))
+					: 0;
+		} catch (NumberFormatException e) {
+			return 0;
+		}
 	}
 	
-	public void saveRefreshToken(@NonNull final String refreshToken, final long memberId) {
-		this.set(AuthTokenRedisKeyGenerator.generateRefreshTokenKey(memberId, refreshToken), String.valueOf(memberId),
-				com.esop.esop.common.redis.RedisConst.DEFAULT_REFRESH_TOKEN_TTL_IN_SECONDS);
+	public enum ConsumeResult {
+		VALID,
+		RECENTLY_ROTATED,
+		REUSED,
+		UNKNOWN
 	}
 }
@@ -25,11 +25,15 @@ public class EmailLoginRequest {
 	@NotBlank(message = "password can not be blank")
 	private String password;
 	
+	/** Required once the login is throttled to captcha; see LoginThrottle */
+	private String captchaToken;
 	
-	public EmailLoginRequest(final String email, final String password) {
+	
+	public EmailLoginRequest(final String email, final String password, final String captchaToken) {
 		EmailUtil.validateEmailFormat(email);
 		
 		this.email = email;
 		this.password = password;
+		this.captchaToken = captchaToken;
 	}
 }
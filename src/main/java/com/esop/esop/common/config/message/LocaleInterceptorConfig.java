@@ -23,9 +23,8 @@ import jakarta.servlet.http.HttpServletResponse;
 public class LocaleInterceptorConfig implements HandlerInterceptor {
 	private static final String ACCEPT_LANGUAGE_HEADER = "Accept-Language";
 	
-	private static final String ENGLISH = "en";
-	
-	private static final List<String> ACCEPTED_LANGUAGE = List.of(ENGLISH);
+	private static final List<String> ACCEPTED_LANGUAGE =
+			MessageSourceConfig.SUPPORTED_LOCALES.stream().map(Locale::getLanguage).toList();
 	
 	
 	@Override
@@ -36,7 +35,7 @@ public class LocaleInterceptorConfig implements HandlerInterceptor {
 			Locale locale = Locale.forLanguageTag(acceptLanguage);
 			LocaleContextHolder.setLocale(locale);
 		} else {
-			LocaleContextHolder.setLocale(Locale.ENGLISH);
+			LocaleContextHolder.setLocale(MessageSourceConfig.DEFAULT_LOCALE);
 		}
 		
 		return true;
@@ -9,12 +9,20 @@
  */
 package com.esop.esop.common.config.message;
 
+import java.util.List;
+import java.util.Locale;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.stereotype.Component;
 
 @Component
 public class MessageSourceConfig {
+	public static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
+	
+	/** Locales that have a messages bundle (and email templates) */
+	public static final List<Locale> SUPPORTED_LOCALES = List.of(DEFAULT_LOCALE);
+	
 	private static final String DEFAULT_MESSAGE_ENCODING = "UTF-8";
 	
 	private static final String MESSAGE_SOURCE_BASE_NAME = "messages/messages";
@@ -32,4 +40,9 @@ public class MessageSourceConfig {
 		
 		return source;
 	}
+	
+	public static boolean isSupported(final Locale locale) {
+		return locale != null
+				&& SUPPORTED_LOCALES.stream().anyMatch(supported -> supported.getLanguage().equals(locale.getLanguage()));
+	}
 }
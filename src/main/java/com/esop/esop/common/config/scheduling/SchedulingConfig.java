@@ -0,0 +1,35 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.common.config.scheduling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+	
+	/**
+	 * Runs the @Scheduled jobs (suppression list rebuild, login attempt flush, jwt settings reload, progress
+	 * eviction); @Scheduled picks the bean by this name. Declared here because another TaskScheduler bean
+	 * (emailProgressStreamScheduler) turns off the one Spring Boot would otherwise create.
+	 */
+	@Bean
+	public ThreadPoolTaskScheduler taskScheduler(
+			@Value("${spring.task.scheduling.pool.size:2}") final int poolSize) {
+		final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(poolSize);
+		scheduler.setThreadNamePrefix("scheduling-");
+		return scheduler;
+	}
+}
@@ -18,6 +18,8 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
@@ -41,6 +43,11 @@ public class HttpLogFilter implements Filter {
 	public void doFilter(
 			final ServletRequest request, final ServletResponse response, final FilterChain chain)
 			throws IOException, ServletException {
+		if (HttpLogFilter.isEventStream((HttpServletRequest) request)) {
+			// Caching the body would hold back every event until the stream ends
+			chain.doFilter(request, response);
+			return;
+		}
 		final ContentCachingRequestWrapper cachedRequest =
 				new ContentCachingRequestWrapper((HttpServletRequest) request);
 		final ContentCachingResponseWrapper cachedResponse =
@@ -50,6 +57,11 @@ public class HttpLogFilter implements Filter {
 		HttpLogFilter.logResponse(cachedRequest, cachedResponse);
 	}
 	
+	static boolean isEventStream(final HttpServletRequest request) {
+		final String accept = request.getHeader(HttpHeaders.ACCEPT);
+		return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+	}
+	
 	static void logRequest(final ContentCachingRequestWrapper request) {
 		final String method = request.getMethod();
 		final String requestURI = request.getRequestURI();
@@ -9,11 +9,20 @@
  */
 package com.esop.esop.common.redis;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 
 @RequiredArgsConstructor
 public abstract class AbstractRedisRepository<K, V> implements RedisRepository<K, V> {
@@ -55,4 +64,67 @@ public abstract class AbstractRedisRepository<K, V> implements RedisRepository<K
 	public void delete(final K key) {
 		this.redisTemplate.delete(key);
 	}
+	
+	@Override
+	public List<V> multiGet(final Collection<K> keys) {
+		if (keys.isEmpty()) {
+			return List.of();
+		}
+		final List<V> values = this.redisTemplate.opsForValue().multiGet(keys);
+		return values == null ? new ArrayList<>(Collections.nCopies(keys.size(), null)) : values;
+	}
+	
+	/**
+	 * MSET has no TTL, so this pipelines one SET EX per entry instead.
+	 */
+	@Override
+	public void multiSet(final Map<K, V> values, final long timeout) {
+		if (values.isEmpty()) {
+			return;
+		}
+		this.executePipelined(operations -> values.forEach(
+				(key, value) -> operations.opsForValue().set(key, value, timeout, TimeUnit.SECONDS)));
+	}
+	
+	@Override
+	public void deleteAll(final Collection<K> keys) {
+		if (!keys.isEmpty()) {
+			this.redisTemplate.delete(keys);
+		}
+	}
+	
+	/**
+	 * Queue the commands issued on operations and send them in one round trip.
+	 * Results are returned in command order once all replies are read; inside the callback they are always null.
+	 */
+	protected List<Object> executePipelined(final Consumer<RedisOperations<K, V>> commands) {
+		return this.redisTemplate.executePipelined(new SessionCallback<Object>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public <KK, VV> Object execute(final RedisOperations<KK, VV> operations) throws DataAccessException {
+				commands.accept((RedisOperations<K, V>) operations);
+				return null;
+			}
+		});
+	}
+	
+	/**
+	 * Get by key; on a miss read legacyKey and, if it exists, rename it to key (RENAME keeps the TTL).
+	 * Used while values move to a new key scheme, until the last legacy key has expired.
+	 */
+	protected V getMigratingFrom(final K key, final K legacyKey) {
+		final V value = this.get(key);
+		if (value != null) {
+			return value;
+		}
+		final V legacyValue = this.get(legacyKey);
+		if (legacyValue != null) {
+			try {
+				this.redisTemplate.renameIfAbsent(legacyKey, key);
+			} catch (DataAccessException e) {
+				// Legacy key expired or was deleted in between; the value just read is still valid for this call
+			}
+		}
+		return legacyValue;
+	}
 }
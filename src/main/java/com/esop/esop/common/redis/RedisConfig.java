@@ -11,37 +11,154 @@ package com.esop.esop.common.redis;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.StringUtils;
 
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+
+/**
+ * Lettuce connections. The topology follows the configured properties:
+ * spring.data.redis.cluster.nodes set - Redis Cluster with periodic and adaptive topology refresh;
+ * spring.data.redis.sentinel.master set - Sentinel; otherwise the standalone server of spring.data.redis.url.
+ * Every factory shares one {@link ClientResources} (event loops), has command and connect timeouts, and rejects
+ * commands while disconnected instead of queueing them.
+ */
 @Configuration
 @EnableAutoConfiguration(exclude = RedisRepositoriesAutoConfiguration.class)
 public class RedisConfig {
+	@Value("${spring.data.redis.url}")
+	private String redisUrl;
+	
+	@Value("${spring.data.redis.username}")
+	private String redisUsername;
+	
+	@Value("${spring.data.redis.password}")
+	private String redisPassword;
+	
+	@Value("${spring.data.redis.database}")
+	private int database;
+	
+	@Value("${spring.data.redis.cluster.nodes:}")
+	private List<String> clusterNodes;
+	
+	@Value("${spring.data.redis.sentinel.master:}")
+	private String sentinelMaster;
+	
+	@Value("${spring.data.redis.sentinel.nodes:}")
+	private List<String> sentinelNodes;
+	
+	@Value("${esop.redis.command-timeout-ms:2000}")
+	private long commandTimeoutMs;
+	
+	@Value("${esop.redis.connect-timeout-ms:2000}")
+	private long connectTimeoutMs;
+	
+	@Value("${esop.redis.cluster.refresh-period-ms:30000}")
+	private long clusterRefreshPeriodMs;
+	
+	/** Pool of dedicated connections for blocking commands, transactions and pipelines */
+	@Value("${esop.redis.pool.enabled:true}")
+	private boolean poolEnabled;
+	
+	@Value("${esop.redis.pool.max-active:16}")
+	private int poolMaxActive;
+	
+	@Value("${esop.redis.pool.max-idle:8}")
+	private int poolMaxIdle;
+	
+	@Value("${esop.redis.pool.min-idle:0}")
+	private int poolMinIdle;
+	
+	@Value("${esop.redis.pool.max-wait-ms:1000}")
+	private long poolMaxWaitMs;
+	
+	
+	/**
+	 * Event loops shared by every Lettuce client; 0 keeps Lettuce's default of one thread per core.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ClientResources lettuceClientResources(
+			@Value("${esop.redis.io-threads:0}") final int ioThreads,
+			@Value("${esop.redis.computation-threads:0}") final int computationThreads) {
+		final DefaultClientResources.Builder builder = DefaultClientResources.builder();
+		if (ioThreads > 0) {
+			builder.ioThreadPoolSize(ioThreads);
+		}
+		if (computationThreads > 0) {
+			builder.computationThreadPoolSize(computationThreads);
+		}
+		return builder.build();
+	}
 	
 	@Bean
-	public RedisConnectionFactory redisConnectionFactory(
-			@Value("${spring.data.redis.url}") final String redisUrl,
-			@Value("${spring.data.redis.username}") final String redisUsername,
-			@Value("${spring.data.redis.password}") final String redisPassword,
-			@Value("${spring.data.redis.database}") final int database) throws URISyntaxException {
-		final URI uri = new URI(redisUrl);
-		final RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration();
-		redisStandaloneConfiguration.setHostName(uri.getHost());
-		redisStandaloneConfiguration.setPort(uri.getPort());
-		redisStandaloneConfiguration.setUsername(redisUsername);
-		redisStandaloneConfiguration.setPassword(redisPassword);
-		redisStandaloneConfiguration.setDatabase(database);
-		return new LettuceConnectionFactory(redisStandaloneConfiguration);
+	@Primary
+	public LettuceConnectionFactory redisConnectionFactory(final ClientResources lettuceClientResources)
+			throws URISyntaxException {
+		return new LettuceConnectionFactory(this.redisConfiguration(),
+				this.clientConfiguration(lettuceClientResources, ReadFrom.UPSTREAM));
+	}
+	
+	/**
+	 * Reads that tolerate replica lag (token validation) go to a replica when one is available (Sentinel/Cluster).
+	 * With esop.redis.replica-reads=false, or a standalone server, they are served like every other command.
+	 */
+	@Bean
+	public LettuceConnectionFactory replicaReadRedisConnectionFactory(final ClientResources lettuceClientResources,
+			@Value("${esop.redis.replica-reads:true}") final boolean replicaReads) throws URISyntaxException {
+		return new LettuceConnectionFactory(this.redisConfiguration(), this.clientConfiguration(lettuceClientResources,
+				replicaReads ? ReadFrom.REPLICA_PREFERRED : ReadFrom.UPSTREAM));
+	}
+	
+	/**
+	 * Plain UTF-8 keys and values; backs every RedisTemplate&lt;String, String&gt; repository.
+	 * Values such as member ids and epochs are stored as their digits, with no type metadata, and stay usable by
+	 * Lua scripts and INCR.
+	 */
+	@Bean
+	@Primary
+	public StringRedisTemplate stringRedisTemplate(final RedisConnectionFactory connectionFactory) {
+		return new StringRedisTemplate(connectionFactory);
+	}
+	
+	/**
+	 * String template over {@link #replicaReadRedisConnectionFactory}; reads only, and a miss may just be lag.
+	 */
+	@Bean
+	public StringRedisTemplate replicaReadRedisTemplate(
+			@Qualifier("replicaReadRedisConnectionFactory") final RedisConnectionFactory connectionFactory) {
+		return new StringRedisTemplate(connectionFactory);
 	}
 	
 	@Bean
@@ -53,4 +170,85 @@ public class RedisConfig {
 		redisTemplate.setConnectionFactory(connectionFactory);
 		return redisTemplate;
 	}
+	
+	/**
+	 * Shared pub/sub subscription (one connection) for in-process cache invalidation messages
+	 */
+	@Bean
+	public RedisMessageListenerContainer redisMessageListenerContainer(final RedisConnectionFactory connectionFactory) {
+		final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		return container;
+	}
+	
+	private RedisConfiguration redisConfiguration() throws URISyntaxException {
+		if (!this.clusterNodes.isEmpty()) {
+			final RedisClusterConfiguration redisClusterConfiguration =
+					new RedisClusterConfiguration(this.clusterNodes);
+			redisClusterConfiguration.setUsername(this.redisUsername);
+			redisClusterConfiguration.setPassword(this.redisPassword);
+			return redisClusterConfiguration;
+		}
+		if (StringUtils.hasText(this.sentinelMaster)) {
+			final RedisSentinelConfiguration redisSentinelConfiguration =
+					new RedisSentinelConfiguration(this.sentinelMaster, new HashSet<>(this.sentinelNodes));
+			redisSentinelConfiguration.setUsername(this.redisUsername);
+			redisSentinelConfiguration.setPassword(this.redisPassword);
+			redisSentinelConfiguration.setDatabase(this.database);
+			return redisSentinelConfiguration;
+		}
+		final URI uri = new URI(this.redisUrl);
+		final RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration();
+		redisStandaloneConfiguration.setHostName(uri.getHost());
+		redisStandaloneConfiguration.setPort(uri.getPort());
+		redisStandaloneConfiguration.setUsername(this.redisUsername);
+		redisStandaloneConfiguration.setPassword(this.redisPassword);
+		redisStandaloneConfiguration.setDatabase(this.database);
+		return redisStandaloneConfiguration;
+	}
+	
+	private LettuceClientConfiguration clientConfiguration(final ClientResources clientResources,
+			final ReadFrom readFrom) {
+		final LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = this.poolEnabled
+				? LettucePoolingClientConfiguration.builder().poolConfig(this.poolConfig())
+				: LettuceClientConfiguration.builder();
+		return builder.clientResources(clientResources)
+			.clientOptions(this.clientOptions())
+			.commandTimeout(Duration.ofMillis(this.commandTimeoutMs))
+			.readFrom(readFrom)
+			.build();
+	}
+	
+	private ClientOptions clientOptions() {
+		final SocketOptions socketOptions = SocketOptions.builder()
+			.connectTimeout(Duration.ofMillis(this.connectTimeoutMs))
+			.keepAlive(true)
+			.build();
+		final TimeoutOptions timeoutOptions = TimeoutOptions.enabled(Duration.ofMillis(this.commandTimeoutMs));
+		if (!this.clusterNodes.isEmpty()) {
+			return ClusterClientOptions.builder()
+				.socketOptions(socketOptions)
+				.timeoutOptions(timeoutOptions)
+				.disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+				.topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+					.enablePeriodicRefresh(Duration.ofMillis(this.clusterRefreshPeriodMs))
+					.enableAllAdaptiveRefreshTriggers()
+					.build())
+				.build();
+		}
+		return ClientOptions.builder()
+			.socketOptions(socketOptions)
+			.timeoutOptions(timeoutOptions)
+			.disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+			.build();
+	}
+	
+	private GenericObjectPoolConfig<?> poolConfig() {
+		final GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+		poolConfig.setMaxTotal(this.poolMaxActive);
+		poolConfig.setMaxIdle(this.poolMaxIdle);
+		poolConfig.setMinIdle(this.poolMinIdle);
+		poolConfig.setMaxWait(Duration.ofMillis(this.poolMaxWaitMs));
+		return poolConfig;
+	}
 }
@@ -27,4 +27,8 @@ public interface RedisConst {
 	
 	long MINIMUM_ALLOWED_RETRY_TIME = DEFAULT_PHONE_OTP_TTL_IN_SECONDS - MINIMUM_RETRY_TIME_IN_SECONDS;
 	/** Phone Verification Config */
+	
+	/** Email Progress */
+	long DEFAULT_EMAIL_PROGRESS_TTL_IN_SECONDS = 86400;
+	/** Email Progress */
 }
@@ -9,6 +9,10 @@
  */
 package com.esop.esop.common.redis;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface RedisRepository<K, V> {
 	
 	V get(K key);
@@ -24,4 +28,16 @@ public interface RedisRepository<K, V> {
 	void setIfAbsent(K key, V value, long timeout);
 	
 	void delete(K key);
+	
+	/**
+	 * Values in key order, null for missing keys (MGET).
+	 */
+	List<V> multiGet(Collection<K> keys);
+	
+	/**
+	 * Set every entry with the same TTL in seconds, in one round trip.
+	 */
+	void multiSet(Map<K, V> values, long timeout);
+	
+	void deleteAll(Collection<K> keys);
 }
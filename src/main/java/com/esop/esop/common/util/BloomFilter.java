@@ -0,0 +1,91 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.common.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import lombok.NonNull;
+
+/**
+ * Lock-free Bloom filter for strings. mightContain never returns false for an added value;
+ * it returns true for an absent value with roughly the configured false positive probability.
+ */
+public class BloomFilter {
+	private final AtomicLongArray bits;
+	
+	private final long bitCount;
+	
+	private final int hashFunctionCount;
+	
+	
+	public BloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+		final long insertions = Math.max(1, expectedInsertions);
+		final long optimalBits = (long) Math.ceil(
+				-insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+		final int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) >>> 6));
+		this.bits = new AtomicLongArray(words);
+		this.bitCount = (long) words << 6;
+		this.hashFunctionCount = Math.max(1, (int) Math.round((double) this.bitCount / insertions * Math.log(2)));
+	}
+	
+	public void put(@NonNull final String value) {
+		final long hash = hash64(value);
+		final int hash1 = (int) hash;
+		final int hash2 = (int) (hash >>> 32);
+		for (int i = 1; i <= this.hashFunctionCount; i++) {
+			final long bitIndex = this.bitIndex(hash1 + i * hash2);
+			final int wordIndex = (int) (bitIndex >>> 6);
+			final long mask = 1L << bitIndex;
+			long word;
+			do {
+				word = this.bits.get(wordIndex);
+				if ((word & mask) != 0) {
+					break;
+				}
+			} while (!this.bits.compareAndSet(wordIndex, word, word | mask));
+		}
+	}
+	
+	public boolean mightContain(@NonNull final String value) {
+		final long hash = hash64(value);
+		final int hash1 = (int) hash;
+		final int hash2 = (int) (hash >>> 32);
+		for (int i = 1; i <= this.hashFunctionCount; i++) {
+			final long bitIndex = this.bitIndex(hash1 + i * hash2);
+			if ((this.bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	public long bitSize() {
+		return this.bitCount;
+	}
+	
+	private long bitIndex(final int combinedHash) {
+		return (combinedHash & Integer.MAX_VALUE) % this.bitCount;
+	}
+	
+	/** FNV-1a over UTF-16 code units followed by the MurmurHash3 finalizer */
+	private static long hash64(final String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -9,6 +9,7 @@
  */
 package com.esop.esop.common.util;
 
+import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,4 +29,11 @@ public class EmailUtil {
 			throw new com.esop.esop.auth.error.InvalidEmailFormatError();
 		}
 	}
+	
+	/**
+	 * Canonical form used as lookup key for addresses (trimmed, lower-cased).
+	 */
+	public static String normalize(@NonNull final String email) {
+		return email.trim().toLowerCase(Locale.ROOT);
+	}
 }
@@ -0,0 +1,55 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenHashUtil {
+	/** Length of {@link #compactHash(String)} */
+	public static final int COMPACT_HASH_LENGTH = 22;
+	
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	
+	private static final int COMPACT_HASH_BYTES = 16;
+	
+	
+	/**
+	 * SHA-256 of the token as unpadded base64url (43 chars), used instead of the raw token as a lookup key.
+	 */
+	@NonNull
+	public static String sha256(@NonNull final String token) {
+		return ENCODER.encodeToString(digest(token));
+	}
+	
+	/**
+	 * First 16 bytes of the token's SHA-256 as unpadded base64url (22 chars), for keys stored at scale.
+	 */
+	@NonNull
+	public static String compactHash(@NonNull final String token) {
+		return ENCODER.encodeToString(Arrays.copyOf(digest(token), COMPACT_HASH_BYTES));
+	}
+	
+	private static byte[] digest(final String token) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -9,33 +9,117 @@
  */
 package com.esop.esop.email.config;
 
+import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import com.esop.esop.email.model.EmailLane;
+import com.esop.esop.email.service.EmailLaneMonitor;
 
 @Configuration
 @EnableAsync
 @Slf4j
 public class AsyncConfig {
 	
+	/**
+	 * Bulk lane: campaigns and batch sends
+	 */
 	@Bean(name = "emailTaskExecutor")
-	public Executor emailTaskExecutor() {
+	public Executor emailTaskExecutor(EmailLaneMonitor emailLaneMonitor, MeterRegistry meterRegistry) {
 		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 		executor.setCorePoolSize(20);
 		executor.setMaxPoolSize(50);
-		executor.setQueueCapacity(2000); 
+		executor.setQueueCapacity(2000);
 		executor.setThreadNamePrefix("email-async-");
+		executor.setTaskDecorator(emailLaneMonitor.queueWaitDecorator(EmailLane.BULK));
 		executor.setWaitForTasksToCompleteOnShutdown(true);
 		executor.setAwaitTerminationSeconds(120);
 		executor.initialize();
+		bindExecutorMetrics(executor, "emailTaskExecutor", EmailLane.BULK, meterRegistry);
 		
 		log.info("✅ Email Task Executor initialized: core={}, max={}",
 				executor.getCorePoolSize(), executor.getMaxPoolSize());
 		return executor;
 	}
+	
+	/**
+	 * Transactional lane: password reset, email verification, transaction notifications.
+	 * Kept separate so a queued campaign never delays these mails.
+	 */
+	@Bean(name = "transactionalEmailTaskExecutor")
+	public Executor transactionalEmailTaskExecutor(EmailLaneMonitor emailLaneMonitor, MeterRegistry meterRegistry,
+			@Value("${email.transactional.core-pool-size:4}") int corePoolSize,
+			@Value("${email.transactional.max-pool-size:10}") int maxPoolSize) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(corePoolSize);
+		executor.setMaxPoolSize(maxPoolSize);
+		executor.setQueueCapacity(500);
+		executor.setThreadNamePrefix("email-tx-");
+		executor.setTaskDecorator(emailLaneMonitor.queueWaitDecorator(EmailLane.TRANSACTIONAL));
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		executor.initialize();
+		bindExecutorMetrics(executor, "transactionalEmailTaskExecutor", EmailLane.TRANSACTIONAL, meterRegistry);
+		
+		log.info("✅ Transactional Email Task Executor initialized: core={}, max={}",
+				executor.getCorePoolSize(), executor.getMaxPoolSize());
+		return executor;
+	}
+	
+	/**
+	 * Polls bulk email progress for open SSE streams: one periodic task per stream, each a tracker read and an event
+	 * write. Kept off the @Scheduled jobs' scheduler so a slow client or many open streams never delay those jobs.
+	 */
+	@Bean(name = "emailProgressStreamScheduler")
+	public ThreadPoolTaskScheduler emailProgressStreamScheduler(
+			@Value("${email.progress.stream-pool-size:4}") int poolSize) {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(poolSize);
+		scheduler.setThreadNamePrefix("email-progress-");
+		// Closed streams cancel their poller; drop it from the queue right away
+		scheduler.setRemoveOnCancelPolicy(true);
+		
+		log.info("✅ Email Progress Stream Scheduler initialized: pool={}", poolSize);
+		return scheduler;
+	}
+	
+	/**
+	 * Standard executor.* meters plus saturation gauges: active/max threads and queued/queue capacity.
+	 * A queue fill above 0 means every core thread is busy; the pool only grows past core size once the queue is full.
+	 */
+	private static void bindExecutorMetrics(ThreadPoolTaskExecutor executor, String name, EmailLane lane,
+			MeterRegistry meterRegistry) {
+		ThreadPoolExecutor threadPool = executor.getThreadPoolExecutor();
+		List<Tag> tags = List.of(Tag.of("name", name), Tag.of("lane", lane.name()));
+		new ExecutorServiceMetrics(threadPool, name, tags).bindTo(meterRegistry);
+		
+		Gauge.builder("email.executor.saturation", threadPool,
+				pool -> (double) pool.getActiveCount() / pool.getMaximumPoolSize())
+			.description("Active threads divided by the maximum pool size")
+			.tags(tags)
+			.register(meterRegistry);
+		Gauge.builder("email.executor.queue.fill", threadPool,
+				pool -> {
+					int queued = pool.getQueue().size();
+					int capacity = queued + pool.getQueue().remainingCapacity();
+					return capacity == 0 ? 0 : (double) queued / capacity;
+				})
+			.description("Queued tasks divided by the queue capacity")
+			.tags(tags)
+			.register(meterRegistry);
+	}
 }
@@ -9,6 +9,8 @@
  */
 package com.esop.esop.email.config;
 
+import java.time.Duration;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -18,12 +20,25 @@ import org.springframework.context.annotation.Configuration;
 
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ses.SesAsyncClient;
 import software.amazon.awssdk.services.ses.SesClient;
 
 /**
  * AWS SES Configuration
- * Initializes SES client for sending emails
+ * Initializes SES client for sending emails.
+ * When email.ses.async.enabled=true an additional non-blocking SesAsyncClient is created
+ * on top of the Netty NIO HTTP client.
+ * Each client exists twice: the default one retries throttling and transient errors with the SDK's ADAPTIVE mode,
+ * the campaign one has no SDK retries. AsyncEmailService retries with EmailRetryPolicy and takes a rate-limit permit
+ * per attempt, so it sends through the campaign clients; SDK retries underneath would multiply provider calls
+ * without being rate limited.
  */
 @Slf4j
 @Configuration
@@ -39,24 +54,96 @@ public class AwsSesConfig {
 	@Value("${spring.cloud.aws.region.static}")
 	private String region;
 	
+	@Value("${email.ses.async.max-connections:50}")
+	private int asyncMaxConnections;
+	
+	@Value("${email.ses.async.event-loop-threads:2}")
+	private int asyncEventLoopThreads;
+	
+	@Value("${email.ses.sdk-max-retries:3}")
+	private int sdkMaxRetries;
+	
 	
 	@Bean
 	public SesClient sesClient() {
+		return buildSesClient("default", RetryPolicy.builder(RetryMode.ADAPTIVE).numRetries(sdkMaxRetries).build());
+	}
+	
+	@Bean
+	public SesClient campaignSesClient() {
+		return buildSesClient("campaign", RetryPolicy.none());
+	}
+	
+	/**
+	 * Netty HTTP client shared by both async SES clients; the SDK leaves closing it to the container.
+	 */
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(name = "email.ses.async.enabled", havingValue = "true")
+	public SdkAsyncHttpClient sesAsyncHttpClient() {
+		log.info("🔧 Initializing SES async HTTP client (maxConnections={}, eventLoopThreads={})",
+				asyncMaxConnections, asyncEventLoopThreads);
+		return NettyNioAsyncHttpClient.builder()
+			.maxConcurrency(asyncMaxConnections)
+			.connectionAcquisitionTimeout(Duration.ofSeconds(30))
+			.eventLoopGroupBuilder(SdkEventLoopGroup.builder().numberOfThreads(asyncEventLoopThreads))
+			.build();
+	}
+	
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(name = "email.ses.async.enabled", havingValue = "true")
+	public SesAsyncClient sesAsyncClient(SdkAsyncHttpClient sesAsyncHttpClient) {
+		return buildSesAsyncClient("default", sesAsyncHttpClient,
+				RetryPolicy.builder(RetryMode.ADAPTIVE).numRetries(sdkMaxRetries).build());
+	}
+	
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(name = "email.ses.async.enabled", havingValue = "true")
+	public SesAsyncClient campaignSesAsyncClient(SdkAsyncHttpClient sesAsyncHttpClient) {
+		return buildSesAsyncClient("campaign", sesAsyncHttpClient, RetryPolicy.none());
+	}
+	
+	private SesClient buildSesClient(String name, RetryPolicy retryPolicy) {
 		try {
-			log.info("🔧 Initializing AWS SES Client for region: {}", region);
+			log.info("🔧 Initializing AWS SES Client ({}) for region: {}", name, region);
 			
 			SesClient sesClient = SesClient.builder()
 				.region(Region.of(region))
 				.credentialsProvider(
 						StaticCredentialsProvider.create(
 								AwsBasicCredentials.create(accessKey, secretKey)))
+				.overrideConfiguration(ClientOverrideConfiguration.builder()
+					.retryPolicy(retryPolicy)
+					.build())
 				.build();
 			
-			log.info("✅ AWS SES Client initialized successfully");
+			log.info("✅ AWS SES Client ({}) initialized successfully", name);
 			return sesClient;
 		} catch (Exception e) {
-			log.error("❌ Failed to initialize AWS SES Client", e);
+			log.error("❌ Failed to initialize AWS SES Client ({})", name, e);
 			throw new RuntimeException("AWS SES initialization failed", e);
 		}
 	}
+	
+	private SesAsyncClient buildSesAsyncClient(String name, SdkAsyncHttpClient httpClient, RetryPolicy retryPolicy) {
+		try {
+			log.info("🔧 Initializing AWS SES Async Client ({}) for region: {}", name, region);
+			
+			SesAsyncClient sesAsyncClient = SesAsyncClient.builder()
+				.region(Region.of(region))
+				.credentialsProvider(
+						StaticCredentialsProvider.create(
+								AwsBasicCredentials.create(accessKey, secretKey)))
+				.httpClient(httpClient)
+				.overrideConfiguration(ClientOverrideConfiguration.builder()
+					.retryPolicy(retryPolicy)
+					.build())
+				.build();
+			
+			log.info("✅ AWS SES Async Client ({}) initialized successfully", name);
+			return sesAsyncClient;
+		} catch (Exception e) {
+			log.error("❌ Failed to initialize AWS SES Async Client ({})", name, e);
+			throw new RuntimeException("AWS SES async initialization failed", e);
+		}
+	}
 }
@@ -0,0 +1,55 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.controller;
+
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+import com.esop.esop.email.dto.EmailCampaignRequest;
+import com.esop.esop.email.dto.EmailCampaignResponse;
+import com.esop.esop.email.service.AsyncEmailService;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/email/campaigns")
+@RequiredArgsConstructor
+@Tag(name = "Email Campaigns", description = "APIs for plan-wide email announcements")
+public class EmailCampaignController {
+	private final AsyncEmailService asyncEmailService;
+	
+	
+	@Operation(summary = "Send an announcement to an audience; follow it via /api/admin/email/progress/{task_id}")
+	@PostMapping
+	public ResponseEntity<EmailCampaignResponse> startCampaign(@Valid @RequestBody final EmailCampaignRequest request) {
+		final String taskId = "campaign-" + UUID.randomUUID();
+		this.asyncEmailService.sendToAudience(taskId, request.getAudience(), request.getSubject(), request.getBody())
+			.whenComplete((results, error) -> {
+				if (error != null) {
+					log.error("❌ Campaign {} aborted", taskId, error);
+				} else {
+					log.info("🎉 Campaign {} completed in {} batches", taskId, results.size());
+				}
+			});
+		return ResponseEntity.status(HttpStatus.ACCEPTED).body(new EmailCampaignResponse(taskId));
+	}
+}
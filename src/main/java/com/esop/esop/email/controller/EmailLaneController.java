@@ -0,0 +1,40 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.controller;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import com.esop.esop.email.model.EmailLaneStats;
+import com.esop.esop.email.service.EmailLaneMonitor;
+
+@RestController
+@RequestMapping("/api/admin/email/lanes")
+@RequiredArgsConstructor
+@Tag(name = "Email Lanes", description = "APIs for watching transactional and bulk email lanes")
+public class EmailLaneController {
+	private final EmailLaneMonitor emailLaneMonitor;
+	
+	
+	@Operation(summary = "Get queue and rate-limit wait statistics per email lane")
+	@GetMapping
+	public ResponseEntity<List<EmailLaneStats>> getLaneStats() {
+		return ResponseEntity.ok(this.emailLaneMonitor.getStats());
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import com.esop.esop.email.model.EmailProgress;
+import com.esop.esop.email.model.EmailProgressDelta;
+import com.esop.esop.email.service.EmailProgressTracker;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/email/progress")
+@Tag(name = "Email Progress", description = "APIs for watching bulk email progress")
+public class EmailProgressController {
+	private static final String PROGRESS_EVENT = "progress";
+	
+	private static final String NOT_FOUND_EVENT = "not-found";
+	
+	private final EmailProgressTracker emailProgressTracker;
+	
+	private final TaskScheduler taskScheduler;
+	
+	private final Duration pollInterval;
+	
+	private final long streamTimeoutInMillis;
+	
+	
+	public EmailProgressController(final EmailProgressTracker emailProgressTracker,
+			@Qualifier("emailProgressStreamScheduler") final TaskScheduler taskScheduler,
+			@Value("${email.progress.stream-interval-ms:1000}") final long pollIntervalInMillis,
+			@Value("${email.progress.stream-timeout-ms:1800000}") final long streamTimeoutInMillis) {
+		this.emailProgressTracker = emailProgressTracker;
+		this.taskScheduler = taskScheduler;
+		this.pollInterval = Duration.ofMillis(pollIntervalInMillis);
+		this.streamTimeoutInMillis = streamTimeoutInMillis;
+	}
+	
+	@Operation(summary = "Get the current progress of a bulk email task")
+	@GetMapping("/{task_id}")
+	public ResponseEntity<EmailProgress> getProgress(@PathVariable("task_id") final String taskId) {
+		final EmailProgress progress = this.emailProgressTracker.getProgress(taskId);
+		return progress == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(progress);
+	}
+	
+	@Operation(summary = "Stream progress deltas of a bulk email task (Server-Sent Events)")
+	@GetMapping(value = "/{task_id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamProgress(@PathVariable("task_id") final String taskId) {
+		final SseEmitter emitter = new SseEmitter(this.streamTimeoutInMillis);
+		final AtomicReference<EmailProgress> lastSent = new AtomicReference<>();
+		final AtomicBoolean finished = new AtomicBoolean(false);
+		
+		final ScheduledFuture<?> poller = this.taskScheduler.scheduleAtFixedRate(() -> {
+			if (finished.get()) {
+				return;
+			}
+			try {
+				final EmailProgress current = this.emailProgressTracker.getProgress(taskId);
+				if (current == null) {
+					emitter.send(SseEmitter.event().name(NOT_FOUND_EVENT).data(taskId));
+					finished.set(true);
+					emitter.complete();
+					return;
+				}
+				
+				final EmailProgress previous = lastSent.get();
+				if (previous == null || previous.getProcessed() != current.getProcessed()) {
+					emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(EmailProgressDelta.between(previous, current)));
+					lastSent.set(current);
+				}
+				if (current.isCompleted()) {
+					finished.set(true);
+					emitter.complete();
+				}
+			} catch (IOException | IllegalStateException e) {
+				log.debug("Email progress stream closed for task {}: {}", taskId, e.getMessage());
+				finished.set(true);
+				emitter.completeWithError(e);
+			}
+		}, this.pollInterval);
+		
+		final Runnable stopPolling = () -> {
+			finished.set(true);
+			poller.cancel(false);
+		};
+		emitter.onCompletion(stopPolling);
+		emitter.onTimeout(stopPolling);
+		emitter.onError(error -> stopPolling.run());
+		return emitter;
+	}
+}
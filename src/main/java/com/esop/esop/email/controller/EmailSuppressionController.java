@@ -0,0 +1,76 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.controller;
+
+import java.util.Map;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import com.esop.esop.email.model.EmailSuppressionReason;
+import com.esop.esop.email.service.EmailSuppressionService;
+
+/**
+ * Stand-in for the SES -> SNS -> HTTPS bounce/complaint subscription - ONLY FOR DEV/STAGING
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/dev/email/suppressions")
+@RequiredArgsConstructor
+@Profile({
+	"local",
+	"stage"
+})  // Only active in dev environments
+@Tag(name = "Email Suppression", description = "APIs for feeding SES bounce/complaint notifications")
+public class EmailSuppressionController {
+	
+	private final EmailSuppressionService emailSuppressionService;
+	
+	
+	@PostMapping("/ses-notifications")
+	@Operation(summary = "Ingest an SES bounce/complaint notification (raw or SNS envelope)")
+	public ResponseEntity<Map<String, Object>> ingestNotification(@RequestBody String payload) {
+		try {
+			int suppressed = emailSuppressionService.ingestNotification(payload);
+			return ResponseEntity.ok(Map.of(
+					"status", "success",
+					"suppressed", suppressed));
+		} catch (IllegalArgumentException e) {
+			log.warn("Rejected SES notification: {}", e.getMessage());
+			return ResponseEntity.badRequest().body(Map.of(
+					"status", "error",
+					"message", e.getMessage()));
+		}
+	}
+	
+	@PostMapping
+	@Operation(summary = "Manually suppress an address")
+	public ResponseEntity<Map<String, Object>> suppress(@RequestParam String email) {
+		emailSuppressionService.suppress(email, EmailSuppressionReason.MANUAL, null);
+		return ResponseEntity.ok(Map.of(
+				"status", "success",
+				"email", email));
+	}
+	
+	@GetMapping("/check")
+	@Operation(summary = "Check whether an address is suppressed")
+	public ResponseEntity<Map<String, Object>> check(@RequestParam String email) {
+		return ResponseEntity.ok(Map.of(
+				"email", email,
+				"suppressed", emailSuppressionService.isSuppressed(email)));
+	}
+}
@@ -126,7 +126,7 @@ public class EmailTestController {
 		String testToken = "test-reset-token-" + System.currentTimeMillis();
 		
 		try {
-			emailService.sendPasswordResetEmail(to, testToken);
+			asyncEmailService.sendPasswordResetEmailAsync(to, testToken).join();
 			
 			return ResponseEntity.ok(Map.of(
 					"status", "success",
@@ -152,7 +152,7 @@ public class EmailTestController {
 		String testToken = "test-verify-token-" + System.currentTimeMillis();
 		
 		try {
-			emailService.sendEmailVerificationEmail(to, testToken);
+			asyncEmailService.sendEmailVerificationEmailAsync(to, testToken).join();
 			
 			return ResponseEntity.ok(Map.of(
 					"status", "success",
@@ -178,7 +178,7 @@ public class EmailTestController {
 		log.info("Testing transaction notification to: {}", to);
 		
 		try {
-			emailService.sendTransactionNotification(to, transactionCode, status);
+			asyncEmailService.sendTransactionNotificationAsync(to, transactionCode, status).join();
 			
 			return ResponseEntity.ok(Map.of(
 					"status", "success",
@@ -196,7 +196,7 @@ public class EmailTestController {
 	
 	@GetMapping("/send")
 	public String triggerTestEmail() {
-		asyncEmailService.testBulkSend();
-		return "Started sending test emails...";
+		String taskId = asyncEmailService.testBulkSend();
+		return "Started sending test emails... taskId=" + taskId;
 	}
 }
@@ -0,0 +1,34 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import com.esop.esop.email.model.EmailAudience;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailCampaignRequest {
+	@NotNull(message = "audience can not be null")
+	private EmailAudience audience;
+	
+	@NotBlank(message = "subject can not be blank")
+	private String subject;
+	
+	/** HTML body; {{email}} is replaced with the recipient address */
+	@NotBlank(message = "body can not be blank")
+	private String body;
+}
@@ -0,0 +1,20 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.model;
+
+/**
+ * Recipient groups a campaign can be streamed to from the database.
+ */
+public enum EmailAudience {
+	/** Active members whose plan participation status is Enrolled (v_enrolled_members restricted to is_active) */
+	ENROLLED_MEMBERS,
+	/** Every active member */
+	ACTIVE_MEMBERS
+}
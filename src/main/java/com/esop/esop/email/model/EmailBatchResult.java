@@ -9,6 +9,9 @@
  */
 package com.esop.esop.email.model;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,6 +28,18 @@ public class EmailBatchResult {
 	
 	private int failCount;
 	
+	/** Recipients still failing with a transient error (throttling, 4xx, 5xx) after all retries */
+	@Builder.Default
+	private List<String> transientFailures = new ArrayList<>();
+	
+	/** Recipients rejected permanently; not retried */
+	@Builder.Default
+	private List<String> permanentFailures = new ArrayList<>();
+	
+	private int retryCount;
+	
+	private int throttledCount;
+	
 	
 	public double getSuccessRate() {
 		if (totalEmails == 0)
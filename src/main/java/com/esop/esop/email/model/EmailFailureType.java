@@ -0,0 +1,19 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.model;
+
+public enum EmailFailureType {
+	/** Provider asked us to slow down (SES Throttling, SMTP 421 / 4.7.x); retried after backoff */
+	THROTTLED,
+	/** Temporary provider or network failure (SES 5xx, SMTP 4xx, connection errors); retried */
+	TRANSIENT,
+	/** Rejected recipient or message, bad configuration; never retried */
+	PERMANENT
+}
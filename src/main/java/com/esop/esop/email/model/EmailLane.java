@@ -0,0 +1,19 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.model;
+
+/**
+ * Priority lane of an outgoing email. Transactional mails (password reset, verification, OTP)
+ * have their own executor and a reserved share of the send rate so campaigns cannot delay them.
+ */
+public enum EmailLane {
+	TRANSACTIONAL,
+	BULK
+}
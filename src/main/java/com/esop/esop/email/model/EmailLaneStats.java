@@ -0,0 +1,33 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class EmailLaneStats {
+	private EmailLane lane;
+	
+	private long submitted;
+	
+	private long completed;
+	
+	private int queued;
+	
+	private double avgQueueWaitMs;
+	
+	private double maxQueueWaitMs;
+	
+	private double avgRateLimitWaitMs;
+}
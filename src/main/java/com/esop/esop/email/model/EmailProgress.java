@@ -0,0 +1,45 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Point-in-time snapshot of a tracked bulk send
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class EmailProgress {
+	private final String taskId;
+	
+	private final int totalEmails;
+	
+	private final int successCount;
+	
+	private final int failCount;
+	
+	
+	public int getProcessed() {
+		return successCount + failCount;
+	}
+	
+	public double getProgressPercentage() {
+		if (totalEmails == 0)
+			return 0;
+		return (double) getProcessed() / totalEmails * 100;
+	}
+	
+	public boolean isCompleted() {
+		return getProcessed() >= totalEmails;
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Progress change pushed to stream subscribers since the previous event
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class EmailProgressDelta {
+	private final EmailProgress progress;
+	
+	private final int successDelta;
+	
+	private final int failDelta;
+	
+	
+	@NonNull
+	public static EmailProgressDelta between(final EmailProgress previous, @NonNull final EmailProgress current) {
+		final int previousSuccess = previous == null ? 0 : previous.getSuccessCount();
+		final int previousFail = previous == null ? 0 : previous.getFailCount();
+		return EmailProgressDelta.builder()
+			.progress(current)
+			.successDelta(current.getSuccessCount() - previousSuccess)
+			.failDelta(current.getFailCount() - previousFail)
+			.build();
+	}
+}
@@ -0,0 +1,25 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.repository;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class EmailProgressRedisKeyGenerator {
+	private static final String EMAIL_PROGRESS_KEY_PREFIX = "email_progress:";
+	
+	
+	@NonNull
+	public static String generate(@NonNull final String taskId) {
+		return EMAIL_PROGRESS_KEY_PREFIX + taskId;
+	}
+}
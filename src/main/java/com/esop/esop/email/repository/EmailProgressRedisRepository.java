@@ -0,0 +1,96 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.esop.esop.common.redis.AbstractRedisRepository;
+import com.esop.esop.common.redis.RedisConst;
+import com.esop.esop.email.model.EmailProgress;
+
+/**
+ * Email progress counters stored as a hash: email_progress:{taskId} -> {total, success, fail}
+ */
+@Component
+public class EmailProgressRedisRepository extends AbstractRedisRepository<String, String> {
+	public static final String TOTAL_FIELD = "total";
+	
+	public static final String SUCCESS_FIELD = "success";
+	
+	public static final String FAIL_FIELD = "fail";
+	
+	/** Writes the counters and their TTL atomically, so a crash in between can't leave a hash that never expires */
+	private static final RedisScript<Long> START_SCRIPT = new DefaultRedisScript<>(
+			"redis.call('HSET', KEYS[1], ARGV[1], ARGV[2], ARGV[3], '0', ARGV[4], '0') "
+					+ "return redis.call('EXPIRE', KEYS[1], ARGV[5])",
+			Long.class);
+	
+	/** Increments only while the hash exists, so late updates can't resurrect a removed or expired task */
+	private static final RedisScript<Long> INCREMENT_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+			"if redis.call('EXISTS', KEYS[1]) == 1 then "
+					+ "redis.call('EXPIRE', KEYS[1], ARGV[2]) "
+					+ "return redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[3]) "
+					+ "end "
+					+ "return -1",
+			Long.class);
+	
+	
+	public EmailProgressRedisRepository(final RedisTemplate<String, String> redisTemplate) {
+		super(redisTemplate);
+	}
+	
+	public void start(@NonNull final String taskId, final int totalEmails) {
+		this.redisTemplate.execute(START_SCRIPT, List.of(EmailProgressRedisKeyGenerator.generate(taskId)),
+				TOTAL_FIELD, String.valueOf(totalEmails), SUCCESS_FIELD, FAIL_FIELD,
+				String.valueOf(RedisConst.DEFAULT_EMAIL_PROGRESS_TTL_IN_SECONDS));
+	}
+	
+	public void increment(@NonNull final String taskId, @NonNull final String field) {
+		this.increment(taskId, field, 1);
+	}
+	
+	public void increment(@NonNull final String taskId, @NonNull final String field, final int delta) {
+		this.redisTemplate.execute(INCREMENT_IF_EXISTS_SCRIPT,
+				List.of(EmailProgressRedisKeyGenerator.generate(taskId)),
+				field, String.valueOf(RedisConst.DEFAULT_EMAIL_PROGRESS_TTL_IN_SECONDS), String.valueOf(delta));
+	}
+	
+	@Nullable
+	public EmailProgress find(@NonNull final String taskId) {
+		final Map<Object, Object> fields =
+				this.redisTemplate.opsForHash().entries(EmailProgressRedisKeyGenerator.generate(taskId));
+		if (fields.isEmpty()) {
+			return null;
+		}
+		return EmailProgress.builder()
+			.taskId(taskId)
+			.totalEmails(toInt(fields.get(TOTAL_FIELD)))
+			.successCount(toInt(fields.get(SUCCESS_FIELD)))
+			.failCount(toInt(fields.get(FAIL_FIELD)))
+			.build();
+	}
+	
+	public void remove(@NonNull final String taskId) {
+		this.delete(EmailProgressRedisKeyGenerator.generate(taskId));
+	}
+	
+	private static int toInt(final Object value) {
+		return value == null ? 0 : Integer.parseInt(value.toString());
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.repository;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.esop.esop.email.model.EmailAudience;
+import com.esop.esop.email.model.EmailRecipient;
+
+/**
+ * Reads campaign recipients page by page with keyset pagination (id > last id ORDER BY id LIMIT n).
+ * Every page is an index range scan on the primary key, so reading the millionth recipient costs
+ * the same as the first and no connection is held between pages.
+ * The enrolled audience queries the base tables instead of v_enrolled_members, whose GROUP BY over
+ * transactions would force MySQL to materialize the whole view for every page.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailRecipientRepository {
+	private static final String ENROLLED_MEMBERS_FROM = "FROM members m "
+			+ "JOIN member_profiles mp ON mp.member_id = m.id "
+			+ "WHERE mp.plan_participation_status = 'Enrolled' AND m.is_active = TRUE ";
+	
+	private static final String ACTIVE_MEMBERS_FROM = "FROM members m WHERE m.is_active = TRUE ";
+	
+	private static final RowMapper<EmailRecipient> RECIPIENT_ROW_MAPPER =
+			(rs, rowNum) -> new EmailRecipient(rs.getLong(1), rs.getString(2));
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	
+	public int count(EmailAudience audience) {
+		final Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) " + from(audience), Integer.class);
+		return count == null ? 0 : count;
+	}
+	
+	/**
+	 * @return up to limit recipients with member id greater than afterMemberId, ordered by member id
+	 */
+	public List<EmailRecipient> findPage(EmailAudience audience, long afterMemberId, int limit) {
+		return jdbcTemplate.query("SELECT m.id, m.email " + from(audience) + "AND m.id > ? ORDER BY m.id LIMIT ?",
+				RECIPIENT_ROW_MAPPER, afterMemberId, limit);
+	}
+	
+	private static String from(EmailAudience audience) {
+		return switch (audience) {
+			case ENROLLED_MEMBERS -> ENROLLED_MEMBERS_FROM;
+			case ACTIVE_MEMBERS -> ACTIVE_MEMBERS_FROM;
+		};
+	}
+}
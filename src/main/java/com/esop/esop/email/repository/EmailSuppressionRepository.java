@@ -0,0 +1,36 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.esop.esop.email.model.EmailSuppression;
+
+@Repository
+public interface EmailSuppressionRepository extends JpaRepository<EmailSuppression, Long> {
+	boolean existsByEmail(String email);
+	
+	@Query("select s.email from EmailSuppression s")
+	Stream<String> streamAllEmails();
+	
+	@Query("select s.email from EmailSuppression s where s.email in :emails")
+	List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+	
+	@Query("select s.email from EmailSuppression s where s.createdAt >= :since")
+	List<String> findEmailsCreatedSince(@Param("since") ZonedDateTime since);
+}
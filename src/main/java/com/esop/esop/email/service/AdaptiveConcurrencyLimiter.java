@@ -0,0 +1,105 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD limit on how many workers of one bulk send may have a batch in flight, so the number of concurrent
+ * provider calls follows what the provider sustains. The limit grows by one while the average send latency of
+ * a batch stays under the target, shrinks by a quarter when it is above, and halves on any throttle signal.
+ * Only batches started after the last decrease can decrease it again, so one congestion event seen by several
+ * workers at once counts once.
+ * A throttle also pauses every worker of the send until the backoff has passed.
+ */
+public class AdaptiveConcurrencyLimiter {
+	private final int minLimit;
+	
+	private final int maxLimit;
+	
+	private final long targetLatencyNanos;
+	
+	private int limit;
+	
+	private int inFlight;
+	
+	private long lastDecreaseNanos;
+	
+	private long pausedUntilNanos;
+	
+	
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyMillis) {
+		this.minLimit = Math.max(1, minLimit);
+		this.maxLimit = Math.max(this.minLimit, maxLimit);
+		this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+		this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+		this.lastDecreaseNanos = System.nanoTime();
+		this.pausedUntilNanos = this.lastDecreaseNanos;
+	}
+	
+	public synchronized int limit() {
+		return limit;
+	}
+	
+	/**
+	 * Block until a batch may start: fewer batches than the current limit are in flight.
+	 * Every acquire must be paired with {@link #release()}.
+	 */
+	public synchronized void acquire() throws InterruptedException {
+		while (inFlight >= limit) {
+			wait();
+		}
+		inFlight++;
+	}
+	
+	public synchronized void release() {
+		inFlight--;
+		notifyAll();
+	}
+	
+	/**
+	 * @param startedAtNanos System.nanoTime() when the batch started
+	 */
+	public synchronized void onBatchCompleted(long startedAtNanos, long avgLatencyNanos, int throttledCount) {
+		if (throttledCount == 0 && avgLatencyNanos <= targetLatencyNanos) {
+			if (limit < maxLimit) {
+				limit++;
+				notifyAll();
+			}
+			return;
+		}
+		if (startedAtNanos - lastDecreaseNanos < 0) {
+			return;
+		}
+		limit = Math.max(minLimit, throttledCount > 0 ? limit / 2 : limit * 3 / 4);
+		lastDecreaseNanos = System.nanoTime();
+	}
+	
+	public synchronized void onThrottled(long backoffNanos) {
+		final long resumeAt = System.nanoTime() + backoffNanos;
+		if (resumeAt - pausedUntilNanos > 0) {
+			pausedUntilNanos = resumeAt;
+		}
+	}
+	
+	/**
+	 * Block while a throttle pause is active.
+	 */
+	public void awaitResume() throws InterruptedException {
+		long remaining;
+		while ((remaining = remainingPauseNanos()) > 0) {
+			TimeUnit.NANOSECONDS.sleep(remaining);
+		}
+	}
+	
+	private synchronized long remainingPauseNanos() {
+		return pausedUntilNanos - System.nanoTime();
+	}
+}
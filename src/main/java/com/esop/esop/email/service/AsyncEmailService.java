@@ -9,41 +9,139 @@
  */
 package com.esop.esop.email.service;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.esop.esop.email.exception.EmailSendException;
+import com.esop.esop.email.model.EmailAudience;
 import com.esop.esop.email.model.EmailBatchResult;
+import com.esop.esop.email.model.EmailFailureType;
+import com.esop.esop.email.model.EmailLane;
+import com.esop.esop.email.model.EmailRecipient;
+import com.esop.esop.email.repository.EmailRecipientRepository;
+import com.esop.esop.email.template.EmailTemplate;
+import com.esop.esop.email.template.EmailTemplateConst;
 
+/**
+ * Dispatches emails on two priority lanes: transactional mails run on their own executor and draw from a
+ * reserved share of the send rate, bulk campaigns run on emailTaskExecutor with the remaining share.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AsyncEmailService {
 	
 	private final EmailService emailService;
 	
+	private final EmailProgressTracker emailProgressTracker;
+	
+	private final EmailSuppressionService emailSuppressionService;
+	
+	private final EmailRateLimiter emailRateLimiter;
+	
+	private final EmailLaneMonitor emailLaneMonitor;
+	
+	private final Executor bulkExecutor;
+	
+	private final Executor transactionalExecutor;
+	
+	private final EmailFailureClassifier emailFailureClassifier;
+	
+	private final EmailRetryPolicy emailRetryPolicy;
+	
+	private final EmailRecipientRepository emailRecipientRepository;
+	
+	private final EmailMetrics emailMetrics;
+	
+	@Value("${email.batch.size:100}")
+	private int batchSize;
+	
+	@Value("${email.batch.target-latency-ms:500}")
+	private long targetLatencyMillis;
+	
+	/** Workers of one send, and the most batches the concurrency limit lets them have in flight */
+	@Value("${email.batch.parallelism:10}")
+	private int parallelism;
+	
+	@Value("${email.batch.initial-concurrency:4}")
+	private int initialConcurrency;
+	
+	@Value("${email.batch.min-concurrency:1}")
+	private int minConcurrency;
+	
+	@Value("${email.recipients.page-size:1000}")
+	private int recipientPageSize;
+	
+	
+	public AsyncEmailService(EmailService emailService, EmailProgressTracker emailProgressTracker,
+			EmailSuppressionService emailSuppressionService, EmailRateLimiter emailRateLimiter,
+			EmailLaneMonitor emailLaneMonitor, EmailFailureClassifier emailFailureClassifier,
+			EmailRetryPolicy emailRetryPolicy, EmailRecipientRepository emailRecipientRepository,
+			EmailMetrics emailMetrics,
+			@Qualifier("emailTaskExecutor") Executor bulkExecutor,
+			@Qualifier("transactionalEmailTaskExecutor") Executor transactionalExecutor) {
+		// Failed sends are retried by EmailRetryPolicy below, so provider clients must not retry as well
+		this.emailService = emailService.withoutProviderRetries();
+		this.emailProgressTracker = emailProgressTracker;
+		this.emailSuppressionService = emailSuppressionService;
+		this.emailRateLimiter = emailRateLimiter;
+		this.emailLaneMonitor = emailLaneMonitor;
+		this.bulkExecutor = bulkExecutor;
+		this.transactionalExecutor = transactionalExecutor;
+		this.emailFailureClassifier = emailFailureClassifier;
+		this.emailRetryPolicy = emailRetryPolicy;
+		this.emailRecipientRepository = emailRecipientRepository;
+		this.emailMetrics = emailMetrics;
+	}
+	
+	/**
+	 * Gửi email đặt lại mật khẩu qua lane transactional
+	 */
+	public CompletableFuture<Void> sendPasswordResetEmailAsync(String email, String resetToken) {
+		return sendTransactional(() -> emailService.sendPasswordResetEmail(email, resetToken));
+	}
+	
+	/**
+	 * Gửi email xác thực qua lane transactional
+	 */
+	public CompletableFuture<Void> sendEmailVerificationEmailAsync(String email, String verificationToken) {
+		return sendTransactional(() -> emailService.sendEmailVerificationEmail(email, verificationToken));
+	}
+	
+	/**
+	 * Gửi thông báo giao dịch qua lane transactional
+	 */
+	public CompletableFuture<Void> sendTransactionNotificationAsync(String email, String transactionCode,
+			String status) {
+		return sendTransactional(() -> emailService.sendTransactionNotification(email, transactionCode, status));
+	}
 	
 	/**
 	 * Gửi email bất đồng bộ cho 1 người
 	 */
 	@Async("emailTaskExecutor")
 	public CompletableFuture<Boolean> sendEmailAsync(String email, String subject, String body) {
-		try {
-			emailService.sendHtmlEmail(email, subject, body);
+		SendOutcome outcome = sendWithRetry(EmailLane.BULK, () -> emailService.sendHtmlEmail(email, subject, body),
+				null);
+		if (outcome.isSuccess()) {
 			log.debug("📨 Email sent successfully to: {}", email);
 			return CompletableFuture.completedFuture(true);
-		} catch (Exception e) {
-			log.error("❌ Failed to send email to: {}", email, e);
-			return CompletableFuture.completedFuture(false);
 		}
+		log.error("❌ Failed to send email to: {}", email, outcome.error());
+		return CompletableFuture.completedFuture(false);
 	}
 	
 	/**
@@ -54,85 +152,428 @@ public class AsyncEmailService {
 			List<String> emails,
 			String subject,
 			String bodyTemplate) {
+		return sendBulkEmailsAsync(null, emails, subject, bodyTemplate);
+	}
+	
+	/**
+	 * Gửi 1 batch email, cập nhật tiến độ vào EmailProgressTracker nếu có taskId
+	 */
+	@Async("emailTaskExecutor")
+	public CompletableFuture<EmailBatchResult> sendBulkEmailsAsync(
+			String taskId,
+			List<String> emails,
+			String subject,
+			String bodyTemplate) {
+		return CompletableFuture.completedFuture(
+				sendBatch(taskId, emails, subject, EmailTemplate.compile(bodyTemplate), newConcurrencyLimiter()));
+	}
+	
+	/**
+	 * Gửi email hàng loạt 600–1000 người bằng cách chia batch song song
+	 */
+	public CompletableFuture<List<EmailBatchResult>> sendEmailsInBatches(
+			List<String> allEmails, String subject, String bodyTemplate) {
+		return sendEmailsInBatches(null, allEmails, subject, bodyTemplate);
+	}
+	
+	/**
+	 * Gửi email hàng loạt, theo dõi tiến độ qua EmailProgressTracker với taskId.
+	 * Các worker lấy batch từ cùng một cursor; số batch chạy đồng thời do AdaptiveConcurrencyLimiter điều chỉnh
+	 * theo độ trễ và tín hiệu throttle.
+	 */
+	public CompletableFuture<List<EmailBatchResult>> sendEmailsInBatches(
+			String taskId, List<String> recipients, String subject, String bodyTemplate) {
+		
+		// Bỏ qua địa chỉ đã hard-bounce hoặc complaint trước khi chia batch
+		List<String> allEmails = emailSuppressionService.filterSuppressed(recipients);
+		
+		if (taskId != null) {
+			emailProgressTracker.startTracking(taskId, allEmails.size());
+		}
+		
+		log.info("📦 Preparing to send {} emails", allEmails.size());
+		return dispatch(taskId, new ListRecipientCursor(allEmails), allEmails.size(), subject,
+				EmailTemplate.compile(bodyTemplate));
+	}
+	
+	/**
+	 * Gửi email cho toàn bộ audience, đọc người nhận từ DB theo từng trang khi worker cần thêm,
+	 * nên bộ nhớ không phụ thuộc vào số lượng nhân viên.
+	 */
+	public CompletableFuture<List<EmailBatchResult>> sendToAudience(
+			String taskId, EmailAudience audience, String subject, String bodyTemplate) {
+		
+		int total = emailRecipientRepository.count(audience);
+		if (taskId != null) {
+			emailProgressTracker.startTracking(taskId, total);
+		}
+		
+		log.info("📦 Streaming {} recipients of {} in pages of {}", total, audience, recipientPageSize);
+		return dispatch(taskId, new AudienceRecipientCursor(taskId, audience, total), total, subject,
+				EmailTemplate.compile(bodyTemplate));
+	}
+	
+	private CompletableFuture<List<EmailBatchResult>> dispatch(String taskId, RecipientCursor cursor,
+			int expectedRecipients, String subject, EmailTemplate template) {
+		AdaptiveConcurrencyLimiter concurrencyLimiter = newConcurrencyLimiter();
+		int size = Math.max(1, batchSize);
+		int workers = Math.max(1, Math.min(parallelism, (expectedRecipients + size - 1) / size));
+		List<CompletableFuture<List<EmailBatchResult>>> futures = new ArrayList<>(workers);
+		
+		log.info("🧵 Dispatching with {} workers, batch size {}, initial concurrency {}", workers, size,
+				concurrencyLimiter.limit());
+		
+		for (int i = 0; i < workers; i++) {
+			futures.add(CompletableFuture.supplyAsync(
+					() -> sendBatches(taskId, cursor, subject, template, concurrencyLimiter), bulkExecutor));
+		}
+		
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+			.thenApply(v -> futures.stream()
+				.flatMap(future -> future.join().stream())
+				.collect(Collectors.toList()));
+	}
+	
+	/**
+	 * Hàm test: gửi 1000 email giả, trả về taskId để theo dõi tiến độ
+	 */
+	public String testBulkSend() {
+		String taskId = "test-bulk-" + System.currentTimeMillis();
+		List<String> fakeEmails = IntStream.range(0, 1000)
+			.mapToObj(i -> "user" + i + "@example.com")
+			.collect(Collectors.toList());
+		
+		String subject = "ESOP Test Email";
+		String body = "<p>Hello {{email}},<br>Welcome to ESOP!</p>";
 		
+		sendEmailsInBatches(taskId, fakeEmails, subject, body).thenAccept(results -> {
+			int totalSuccess = results.stream().mapToInt(EmailBatchResult::getSuccessCount).sum();
+			int totalFail = results.stream().mapToInt(EmailBatchResult::getFailCount).sum();
+			int totalTransient = results.stream().mapToInt(result -> result.getTransientFailures().size()).sum();
+			int totalRetries = results.stream().mapToInt(EmailBatchResult::getRetryCount).sum();
+			
+			log.info("🎉 Bulk test completed: {} success / {} fail ({} transient) / {} retries / rate: {}%",
+					totalSuccess, totalFail, totalTransient, totalRetries,
+					String.format("%.2f",
+							((double) totalSuccess / Math.max(1, totalSuccess + totalFail)) * 100));
+		});
+		return taskId;
+	}
+	
+	/**
+	 * Worker loop: take a slot under the concurrency limit, then the next batch, until the cursor is exhausted.
+	 */
+	private List<EmailBatchResult> sendBatches(String taskId, RecipientCursor cursor, String subject,
+			EmailTemplate template, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+		List<EmailBatchResult> results = new ArrayList<>();
+		while (true) {
+			try {
+				concurrencyLimiter.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				log.warn("⚠️ [{}] Interrupted while waiting for a batch slot, stopping",
+						Thread.currentThread().getName());
+				return results;
+			}
+			try {
+				List<String> batch = cursor.next(Math.max(1, batchSize));
+				if (batch.isEmpty()) {
+					return results;
+				}
+				results.add(sendBatch(taskId, batch, subject, template, concurrencyLimiter));
+			} finally {
+				concurrencyLimiter.release();
+			}
+		}
+	}
+	
+	private EmailBatchResult sendBatch(String taskId, List<String> emails, String subject, EmailTemplate template,
+			AdaptiveConcurrencyLimiter concurrencyLimiter) {
 		log.info("🚀 Starting batch with {} recipients", emails.size());
 		
+		long batchStartedAt = System.nanoTime();
 		int successCount = 0;
-		int failCount = 0;
+		int retryCount = 0;
+		int throttledCount = 0;
+		long totalLatencyNanos = 0;
+		List<String> transientFailures = new ArrayList<>();
+		List<String> permanentFailures = new ArrayList<>();
+		
+		// Nội dung giống nhau cho mọi người nhận: gửi cả batch một lần bằng MIME message dựng sẵn,
+		// chỉ những người nhận lỗi mới đi qua đường gửi từng email bên dưới
+		long identicalStartedAt = System.nanoTime();
+		Map<String, Exception> identicalFailures = template.hasPlaceholders()
+				? null
+				: sendIdenticalBatch(emails, subject, template.render(name -> null));
+		long identicalLatencyNanos = (System.nanoTime() - identicalStartedAt) / Math.max(1, emails.size());
 		
 		for (String email : emails) {
-			try {
-				String personalizedBody = bodyTemplate.replace("{{email}}", email);
-				emailService.sendHtmlEmail(email, subject, personalizedBody);
+			SendOutcome outcome;
+			if (identicalFailures != null && !identicalFailures.containsKey(email)) {
+				outcome = new SendOutcome(null, null, identicalLatencyNanos, 0, 0);
+				emailMetrics.recordSend(EmailLane.BULK, identicalLatencyNanos, null);
+			} else if (identicalFailures != null
+					&& !emailFailureClassifier.isRetryable(emailFailureClassifier.classify(identicalFailures.get(email)))) {
+				outcome = new SendOutcome(EmailFailureType.PERMANENT, identicalFailures.get(email), 0, 0, 0);
+				emailMetrics.recordSend(EmailLane.BULK, identicalLatencyNanos, EmailFailureType.PERMANENT);
+			} else {
+				String personalizedBody = template.render(
+						name -> EmailTemplateConst.EMAIL_PLACEHOLDER.equals(name) ? email : null);
+				// The permit taken for an identical batch that could not be built is still unused
+				outcome = sendWithRetry(EmailLane.BULK,
+						() -> emailService.sendHtmlEmail(email, subject, personalizedBody), concurrencyLimiter,
+						identicalFailures == null && !template.hasPlaceholders());
+			}
+			retryCount += outcome.retries();
+			throttledCount += outcome.throttles();
+			
+			if (outcome.isSuccess()) {
 				successCount++;
-				
+				totalLatencyNanos += outcome.latencyNanos();
+				if (taskId != null) {
+					emailProgressTracker.incrementSuccess(taskId);
+				}
 				if (successCount % 50 == 0) {
 					log.info("📬 [{}] Sent {} emails so far...", Thread.currentThread().getName(), successCount);
 				}
-				
-				// Rate limiting: tránh dồn connection khi test cục bộ
-				Thread.sleep(80);
-				
-			} catch (Exception e) {
-				log.warn("⚠️ Failed to send email to {}", email, e);
-				failCount++;
+				continue;
+			}
+			
+			log.warn("⚠️ Failed to send email to {} ({})", email, outcome.failureType(), outcome.error());
+			if (outcome.failureType() == EmailFailureType.PERMANENT) {
+				permanentFailures.add(email);
+			} else {
+				transientFailures.add(email);
+			}
+			if (taskId != null) {
+				emailProgressTracker.incrementFail(taskId);
 			}
 		}
 		
+		concurrencyLimiter.onBatchCompleted(batchStartedAt, successCount == 0 ? 0 : totalLatencyNanos / successCount,
+				throttledCount);
+		
 		EmailBatchResult result = EmailBatchResult.builder()
 			.totalEmails(emails.size())
 			.successCount(successCount)
-			.failCount(failCount)
+			.failCount(transientFailures.size() + permanentFailures.size())
+			.transientFailures(transientFailures)
+			.permanentFailures(permanentFailures)
+			.retryCount(retryCount)
+			.throttledCount(throttledCount)
 			.build();
 		
-		log.info("✅ Batch done: {} success / {} fail (rate: {}%)",
-				successCount, failCount, String.format("%.2f", result.getSuccessRate()));
+		log.info("✅ Batch done: {} success / {} transient fail / {} permanent fail, {} retries (rate: {}%)",
+				successCount, transientFailures.size(), permanentFailures.size(), retryCount,
+				String.format("%.2f", result.getSuccessRate()));
 		
-		return CompletableFuture.completedFuture(result);
+		return result;
 	}
 	
 	/**
-	 * Gửi email hàng loạt 600–1000 người bằng cách chia batch song song
+	 * Takes one permit per recipient, then sends. Recipients of chunks that were attempted are reported one by one,
+	 * so only those that failed are sent again.
+	 *
+	 * @return failed recipients, or null when the message could not be built and nothing was sent; every recipient
+	 *         then falls back to a per-recipient send on the permit already taken for it
 	 */
-	public CompletableFuture<List<EmailBatchResult>> sendEmailsInBatches(
-			List<String> allEmails, String subject, String bodyTemplate) {
+	private Map<String, Exception> sendIdenticalBatch(List<String> emails, String subject, String body) {
+		try {
+			for (int i = 0; i < emails.size(); i++) {
+				acquireSendPermit(EmailLane.BULK);
+			}
+		} catch (EmailSendException e) {
+			return emails.stream().collect(Collectors.toMap(email -> email, email -> e, (a, b) -> a));
+		}
+		try {
+			return emailService.sendIdenticalHtmlEmails(emails, subject, body);
+		} catch (EmailSendException e) {
+			log.warn("⚠️ Identical email could not be built, falling back to per-recipient sends", e);
+			return null;
+		}
+	}
+	
+	/**
+	 * Send once, retrying throttled and transient failures with jittered backoff.
+	 * Throttles are reported to the concurrency limiter (if any) so every worker of the send backs off.
+	 */
+	private SendOutcome sendWithRetry(EmailLane lane, Runnable send, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+		return sendWithRetry(lane, send, concurrencyLimiter, false);
+	}
+	
+	/**
+	 * @param permitHeld the rate-limit permit for the first attempt was already taken
+	 */
+	private SendOutcome sendWithRetry(EmailLane lane, Runnable send, AdaptiveConcurrencyLimiter concurrencyLimiter,
+			boolean permitHeld) {
+		long sendStartedAt = System.nanoTime();
+		SendOutcome outcome = attemptWithRetry(lane, send, concurrencyLimiter, permitHeld);
+		emailMetrics.recordSend(lane, System.nanoTime() - sendStartedAt, outcome.failureType());
+		return outcome;
+	}
+	
+	private SendOutcome attemptWithRetry(EmailLane lane, Runnable send, AdaptiveConcurrencyLimiter concurrencyLimiter,
+			boolean permitHeld) {
+		int throttles = 0;
+		for (int attempt = 1;; attempt++) {
+			try {
+				if (concurrencyLimiter != null) {
+					concurrencyLimiter.awaitResume();
+				}
+				if (attempt > 1 || !permitHeld) {
+					acquireSendPermit(lane);
+				}
+				long startedAt = System.nanoTime();
+				send.run();
+				return new SendOutcome(null, null, System.nanoTime() - startedAt, attempt - 1, throttles);
+			} catch (Exception e) {
+				if (e instanceof InterruptedException) {
+					Thread.currentThread().interrupt();
+				}
+				EmailFailureType failureType = emailFailureClassifier.classify(e);
+				if (!emailFailureClassifier.isRetryable(failureType) || !emailRetryPolicy.canRetry(attempt)
+						|| Thread.currentThread().isInterrupted()) {
+					return new SendOutcome(failureType, e, 0, attempt - 1, throttles);
+				}
+				
+				long backoffNanos = emailRetryPolicy.backoffNanos(attempt);
+				emailMetrics.recordRetry(lane, failureType);
+				if (failureType == EmailFailureType.THROTTLED) {
+					throttles++;
+					if (concurrencyLimiter != null) {
+						concurrencyLimiter.onThrottled(backoffNanos);
+					}
+				}
+				try {
+					TimeUnit.NANOSECONDS.sleep(backoffNanos);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return new SendOutcome(failureType, e, 0, attempt - 1, throttles);
+				}
+			}
+		}
+	}
+	
+	private CompletableFuture<Void> sendTransactional(Runnable send) {
+		return CompletableFuture.runAsync(() -> {
+			SendOutcome outcome = sendWithRetry(EmailLane.TRANSACTIONAL, send, null);
+			if (!outcome.isSuccess()) {
+				throw outcome.error() instanceof EmailSendException emailSendException
+						? emailSendException
+						: new EmailSendException("Failed to send transactional email", outcome.error());
+			}
+		}, transactionalExecutor);
+	}
+	
+	private void acquireSendPermit(EmailLane lane) {
+		try {
+			emailLaneMonitor.recordRateLimitWait(lane, emailRateLimiter.acquire(lane));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new EmailSendException("Interrupted while waiting for email send rate", e);
+		}
+	}
+	
+	private AdaptiveConcurrencyLimiter newConcurrencyLimiter() {
+		return new AdaptiveConcurrencyLimiter(initialConcurrency, minConcurrency, parallelism, targetLatencyMillis);
+	}
+	
+	private record SendOutcome(EmailFailureType failureType, Exception error, long latencyNanos, int retries,
+			int throttles) {
+		private boolean isSuccess() {
+			return failureType == null;
+		}
+	}
+	
+	/**
+	 * Source of recipients shared by the workers of one send; an empty batch means it is exhausted.
+	 */
+	private interface RecipientCursor {
+		List<String> next(int batchSize);
+	}
+	
+	private static final class ListRecipientCursor implements RecipientCursor {
+		private final List<String> recipients;
 		
-		int batchSize = 100; // có thể tăng lên 200 nếu máy đủ mạnh
-		List<CompletableFuture<EmailBatchResult>> futures = new ArrayList<>();
+		private int position;
 		
-		log.info("📦 Preparing to send {} emails in batches of {}", allEmails.size(), batchSize);
 		
-		for (int i = 0; i < allEmails.size(); i += batchSize) {
-			int end = Math.min(i + batchSize, allEmails.size());
-			List<String> batch = allEmails.subList(i, end);
-			futures.add(sendBulkEmailsAsync(batch, subject, bodyTemplate));
+		private ListRecipientCursor(List<String> recipients) {
+			this.recipients = recipients;
 		}
 		
-		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-			.thenApply(v -> futures.stream()
-				.map(CompletableFuture::join)
-				.collect(Collectors.toList()));
+		@Override
+		public synchronized List<String> next(int batchSize) {
+			int start = position;
+			position = Math.min(recipients.size(), start + batchSize);
+			return recipients.subList(start, position);
+		}
 	}
 	
 	/**
-	 * Hàm test: gửi 1000 email giả
+	 * Forward-only cursor over an audience. A page is read only when the buffered recipients cannot fill
+	 * the requested batch, so memory holds at most one page plus the batches in flight (backpressure comes
+	 * from the workers pulling). Suppressed addresses are dropped per page and removed from the progress total.
+	 * The total starts from a count taken before streaming; once the cursor is exhausted it is corrected to the
+	 * number of recipients actually read, so members added or deactivated meanwhile cannot stall the progress.
 	 */
-	public void testBulkSend() {
-		List<String> fakeEmails = IntStream.range(0, 1000)
-			.mapToObj(i -> "user" + i + "@example.com")
-			.collect(Collectors.toList());
+	private final class AudienceRecipientCursor implements RecipientCursor {
+		private final String taskId;
 		
-		String subject = "ESOP Test Email";
-		String body = "<p>Hello {{email}},<br>Welcome to ESOP!</p>";
+		private final EmailAudience audience;
 		
-		sendEmailsInBatches(fakeEmails, subject, body).thenAccept(results -> {
-			int totalSuccess = results.stream().mapToInt(EmailBatchResult::getSuccessCount).sum();
-			int totalFail = results.stream().mapToInt(EmailBatchResult::getFailCount).sum();
+		private final int countedTotal;
+		
+		private final ArrayDeque<String> buffer = new ArrayDeque<>();
+		
+		private long lastMemberId;
+		
+		private int readCount;
+		
+		private boolean exhausted;
+		
+		
+		private AudienceRecipientCursor(String taskId, EmailAudience audience, int countedTotal) {
+			this.taskId = taskId;
+			this.audience = audience;
+			this.countedTotal = countedTotal;
+		}
+		
+		@Override
+		public synchronized List<String> next(int batchSize) {
+			while (buffer.size() < batchSize && !exhausted) {
+				fetchPage();
+			}
 			
-			log.info("🎉 Bulk test completed: {} success / {} fail / rate: {}%",
-					totalSuccess, totalFail,
-					String.format("%.2f",
-							((double) totalSuccess / (totalSuccess + totalFail)) * 100));
-		});
+			List<String> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+			while (batch.size() < batchSize && !buffer.isEmpty()) {
+				batch.add(buffer.poll());
+			}
+			return batch;
+		}
+		
+		private void fetchPage() {
+			List<EmailRecipient> page = emailRecipientRepository.findPage(audience, lastMemberId, recipientPageSize);
+			readCount += page.size();
+			if (page.size() < recipientPageSize) {
+				exhausted = true;
+				if (taskId != null && readCount != countedTotal) {
+					log.info("📦 Audience {} changed while streaming: counted {}, read {}", audience, countedTotal,
+							readCount);
+					emailProgressTracker.adjustTotal(taskId, readCount - countedTotal);
+				}
+			}
+			if (page.isEmpty()) {
+				return;
+			}
+			lastMemberId = page.get(page.size() - 1).memberId();
+			
+			List<String> emails = page.stream().map(EmailRecipient::email).toList();
+			List<String> deliverable = emailSuppressionService.filterSuppressed(emails);
+			if (taskId != null && deliverable.size() < emails.size()) {
+				emailProgressTracker.adjustTotal(taskId, deliverable.size() - emails.size());
+			}
+			buffer.addAll(deliverable);
+		}
 	}
 }
@@ -0,0 +1,324 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+
+import software.amazon.awssdk.services.ses.SesAsyncClient;
+import software.amazon.awssdk.services.ses.model.*;
+
+import com.esop.esop.email.exception.EmailSendException;
+import com.esop.esop.email.template.EmailTemplateConst;
+import com.esop.esop.email.template.EmailTemplateEngine;
+
+/**
+ * AWS SES Async Email Service Implementation
+ * Sends through SesAsyncClient (Netty NIO) so a send never blocks a worker thread while SES responds.
+ * The number of requests in flight is bounded by email.ses.async.max-in-flight; sends over the bound wait in a queue
+ * and start as earlier ones complete, so the calling thread never blocks. When email.ses.async.max-queued sends are
+ * already waiting a send fails at once with a RejectedExecutionException cause, which is classified as throttled.
+ * Sends use the SDK's adaptive retries, except through {@link #withoutProviderRetries()}.
+ * Only active when EMAIL_SES_ENABLED=true and email.ses.async.enabled=true
+ */
+@Slf4j
+@Service
+@ConditionalOnExpression("${spring.cloud.aws.ses.enabled:false} and ${email.ses.async.enabled:false}")
+public class AwsSesAsyncEmailService implements EmailService {
+	
+	private final SesAsyncClient sesAsyncClient;
+	
+	private final SesAsyncClient campaignSesAsyncClient;
+	
+	/** Shared with the withoutProviderRetries view, so both count against the same bound */
+	private final Semaphore inFlightPermits;
+	
+	private final BlockingQueue<PendingSend> pendingSends;
+	
+	private final AtomicInteger dispatchRequests;
+	
+	private final EmailTemplateEngine templateEngine;
+	
+	private final EmailMetrics emailMetrics;
+	
+	@Value("${email.from}")
+	private String fromEmail;
+	
+	@Value("${email.sender-name}")
+	private String senderName;
+	
+	@Value("${email.password-reset-link}")
+	private String passwordResetLink;
+	
+	@Value("${email.email-verification-link}")
+	private String emailVerificationLink;
+	
+	private volatile AwsSesAsyncEmailService withoutProviderRetries;
+	
+	
+	public AwsSesAsyncEmailService(@Qualifier("sesAsyncClient") SesAsyncClient sesAsyncClient,
+			@Qualifier("campaignSesAsyncClient") SesAsyncClient campaignSesAsyncClient,
+			EmailTemplateEngine templateEngine, EmailMetrics emailMetrics,
+			@Value("${email.ses.async.max-in-flight:50}") int maxInFlight,
+			@Value("${email.ses.async.max-queued:10000}") int maxQueued) {
+		this.sesAsyncClient = sesAsyncClient;
+		this.campaignSesAsyncClient = campaignSesAsyncClient;
+		this.templateEngine = templateEngine;
+		this.emailMetrics = emailMetrics;
+		this.inFlightPermits = new Semaphore(maxInFlight);
+		this.pendingSends = new LinkedBlockingQueue<>(maxQueued);
+		this.dispatchRequests = new AtomicInteger();
+		log.info("✅ SES async email service initialized: maxInFlight={}, maxQueued={}", maxInFlight, maxQueued);
+	}
+	
+	private AwsSesAsyncEmailService(AwsSesAsyncEmailService source) {
+		this.sesAsyncClient = source.campaignSesAsyncClient;
+		this.campaignSesAsyncClient = source.campaignSesAsyncClient;
+		this.templateEngine = source.templateEngine;
+		this.emailMetrics = source.emailMetrics;
+		this.inFlightPermits = source.inFlightPermits;
+		this.pendingSends = source.pendingSends;
+		this.dispatchRequests = source.dispatchRequests;
+		this.fromEmail = source.fromEmail;
+		this.senderName = source.senderName;
+		this.passwordResetLink = source.passwordResetLink;
+		this.emailVerificationLink = source.emailVerificationLink;
+		this.withoutProviderRetries = this;
+	}
+	
+	/**
+	 * Same service on the campaign client, which has no SDK retries; for callers that retry themselves.
+	 */
+	@Override
+	public EmailService withoutProviderRetries() {
+		AwsSesAsyncEmailService view = withoutProviderRetries;
+		if (view == null) {
+			view = new AwsSesAsyncEmailService(this);
+			withoutProviderRetries = view;
+		}
+		return view;
+	}
+	
+	/**
+	 * Send HTML email without waiting for SES. The future completes with the SES MessageId.
+	 */
+	public CompletableFuture<String> sendHtmlEmailAsync(String to, String subject, String htmlBody) {
+		SendEmailRequest request = SendEmailRequest.builder()
+			.source(formatSender())
+			.destination(Destination.builder().toAddresses(to).build())
+			.message(Message.builder()
+				.subject(Content.builder().data(subject).charset("UTF-8").build())
+				.body(Body.builder()
+					.html(Content.builder().data(htmlBody).charset("UTF-8").build())
+					.build())
+				.build())
+			.build();
+		return send(to, request);
+	}
+	
+	/**
+	 * Send the same HTML email to every recipient, one SES request per recipient.
+	 * Returns one future per recipient in input order; a failed recipient never fails the others.
+	 */
+	public Map<String, CompletableFuture<String>> sendHtmlEmailsAsync(List<String> recipients, String subject,
+			String htmlBody) {
+		Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>(recipients.size() * 2);
+		for (String recipient : recipients) {
+			futures.put(recipient, sendHtmlEmailAsync(recipient, subject, htmlBody));
+		}
+		return futures;
+	}
+	
+	/**
+	 * Send the identical email to all recipients concurrently (bounded by max-in-flight) and wait for all of them.
+	 */
+	@Override
+	public Map<String, Exception> sendIdenticalHtmlEmails(List<String> recipients, String subject, String htmlBody) {
+		Map<String, Exception> failures = new LinkedHashMap<>();
+		sendHtmlEmailsAsync(recipients, subject, htmlBody).forEach((recipient, future) -> {
+			try {
+				future.join();
+			} catch (CompletionException e) {
+				failures.put(recipient, e.getCause() instanceof Exception cause ? cause : e);
+			}
+		});
+		return failures;
+	}
+	
+	@Override
+	public void sendSimpleEmail(String to, String subject, String body) {
+		log.info("📧 [ASYNC] Sending simple email to: {}", to);
+		
+		SendEmailRequest request = SendEmailRequest.builder()
+			.source(formatSender())
+			.destination(Destination.builder().toAddresses(to).build())
+			.message(Message.builder()
+				.subject(Content.builder().data(subject).charset("UTF-8").build())
+				.body(Body.builder()
+					.text(Content.builder().data(body).charset("UTF-8").build())
+					.build())
+				.build())
+			.build();
+		
+		String messageId = await(send(to, request), "Failed to send email");
+		log.info("✅ [ASYNC] Email sent successfully. MessageId: {}", messageId);
+	}
+	
+	@Override
+	public void sendHtmlEmail(String to, String subject, String htmlBody) {
+		log.info("📧 [ASYNC] Sending HTML email to: {}", to);
+		String messageId = await(sendHtmlEmailAsync(to, subject, htmlBody), "Failed to send HTML email");
+		log.info("✅ [ASYNC] HTML email sent successfully. MessageId: {}", messageId);
+	}
+	
+	@Override
+	public void sendPasswordResetEmail(String email, String resetToken) {
+		try {
+			log.info("🔐 [ASYNC] Sending password reset email to: {}", email);
+			
+			String resetUrl = passwordResetLink + resetToken;
+			String subject = templateEngine.renderSubject(EmailTemplateConst.PASSWORD_RESET);
+			String htmlBody = templateEngine.render(EmailTemplateConst.PASSWORD_RESET, Map.of("resetUrl", resetUrl));
+			
+			sendHtmlEmail(email, subject, htmlBody);
+			
+		} catch (Exception e) {
+			log.error("❌ [ASYNC] Failed to send password reset email to: {}", email, e);
+			throw new EmailSendException("Failed to send password reset email", e);
+		}
+	}
+	
+	@Override
+	public void sendEmailVerificationEmail(String email, String verificationToken) {
+		try {
+			log.info("✉️ [ASYNC] Sending email verification to: {}", email);
+			
+			String verificationUrl = emailVerificationLink + verificationToken;
+			String subject = templateEngine.renderSubject(EmailTemplateConst.EMAIL_VERIFICATION);
+			String htmlBody = templateEngine.render(EmailTemplateConst.EMAIL_VERIFICATION,
+					Map.of("verificationUrl", verificationUrl));
+			
+			sendHtmlEmail(email, subject, htmlBody);
+			
+		} catch (Exception e) {
+			log.error("❌ [ASYNC] Failed to send email verification to: {}", email, e);
+			throw new EmailSendException("Failed to send email verification", e);
+		}
+	}
+	
+	@Override
+	public void sendTransactionNotification(String email, String transactionCode, String status) {
+		try {
+			log.info("💰 [ASYNC] Sending transaction notification to: {}", email);
+			
+			String subject = templateEngine.renderSubject(EmailTemplateConst.TRANSACTION_NOTIFICATION);
+			String htmlBody = templateEngine.render(EmailTemplateConst.TRANSACTION_NOTIFICATION, Map.of(
+					"transactionCode", transactionCode,
+					"status", status,
+					"statusColor", status.equals("Successful") ? "#28a745" : "#dc3545"));
+			
+			sendHtmlEmail(email, subject, htmlBody);
+			
+		} catch (Exception e) {
+			log.error("❌ [ASYNC] Failed to send transaction notification to: {}", email, e);
+			throw new EmailSendException("Failed to send transaction notification", e);
+		}
+	}
+	
+	// Helper Methods
+	private CompletableFuture<String> send(String to, SendEmailRequest request) {
+		PendingSend pending = new PendingSend(sesAsyncClient, to, request, new CompletableFuture<>());
+		if (!pendingSends.offer(pending)) {
+			return CompletableFuture.failedFuture(new EmailSendException("SES send queue is full",
+					new RejectedExecutionException(pendingSends.size() + " SES sends are already queued")));
+		}
+		dispatchPending();
+		return pending.result();
+	}
+	
+	/**
+	 * Start queued sends while permits are free. Called after every enqueue and completion; a call that arrives
+	 * while another thread is dispatching only makes that thread loop again, so completions that run synchronously
+	 * never recurse.
+	 */
+	private void dispatchPending() {
+		if (dispatchRequests.getAndIncrement() != 0) {
+			return;
+		}
+		int requests = 1;
+		do {
+			while (!pendingSends.isEmpty() && inFlightPermits.tryAcquire()) {
+				PendingSend pending = pendingSends.poll();
+				if (pending == null) {
+					inFlightPermits.release();
+				} else {
+					dispatch(pending);
+				}
+			}
+			requests = dispatchRequests.addAndGet(-requests);
+		} while (requests != 0);
+	}
+	
+	private void dispatch(PendingSend pending) {
+		long startedAt = System.nanoTime();
+		CompletableFuture<SendEmailResponse> call;
+		try {
+			call = pending.client().sendEmail(pending.request());
+		} catch (RuntimeException e) {
+			call = CompletableFuture.failedFuture(e);
+		}
+		call.whenComplete((response, error) -> {
+			inFlightPermits.release();
+			Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+			emailMetrics.recordProviderCall(EmailMetrics.PROVIDER_SES_ASYNC, System.nanoTime() - startedAt, cause);
+			if (cause != null) {
+				log.error("❌ [ASYNC] Failed to send email to: {}", pending.to(), cause);
+				pending.result().completeExceptionally(new EmailSendException("Failed to send email", cause));
+			} else {
+				pending.result().complete(response.messageId());
+			}
+			dispatchPending();
+		});
+	}
+	
+	private String await(CompletableFuture<String> future, String errorMessage) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof EmailSendException emailSendException) {
+				throw emailSendException;
+			}
+			throw new EmailSendException(errorMessage, e.getCause());
+		}
+	}
+	
+	private String formatSender() {
+		return String.format("%s <%s>", senderName, fromEmail);
+	}
+	
+	private record PendingSend(SesAsyncClient client, String to, SendEmailRequest request,
+			CompletableFuture<String> result) {
+	}
+}
@@ -9,30 +9,41 @@
  */
 package com.esop.esop.email.service;
 
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 
 import software.amazon.awssdk.services.ses.SesClient;
 import software.amazon.awssdk.services.ses.model.*;
 
 import com.esop.esop.email.exception.*;
+import com.esop.esop.email.template.EmailTemplateConst;
+import com.esop.esop.email.template.EmailTemplateEngine;
 
 /**
  * AWS SES Email Service Implementation
  * Handles all email sending via Amazon SES
+ * Replaced by AwsSesAsyncEmailService when email.ses.async.enabled=true
+ * Sends use the SDK's adaptive retries, except through {@link #withoutProviderRetries()}.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-@ConditionalOnProperty(name = "spring.cloud.aws.ses.enabled", havingValue = "true")
+@ConditionalOnExpression("${spring.cloud.aws.ses.enabled:false} and !${email.ses.async.enabled:false}")
 public class AwsSesEmailService implements EmailService {
 	
 	private final SesClient sesClient;
 	
+	private final SesClient campaignSesClient;
+	
+	private final EmailTemplateEngine templateEngine;
+	
+	private final EmailMetrics emailMetrics;
+	
 	@Value("${email.from}")
 	private String fromEmail;
 	
@@ -45,6 +56,39 @@ public class AwsSesEmailService implements EmailService {
 	@Value("${email.email-verification-link}")
 	private String emailVerificationLink;
 	
+	private volatile AwsSesEmailService withoutProviderRetries;
+	
+	
+	public AwsSesEmailService(@Qualifier("sesClient") SesClient sesClient,
+			@Qualifier("campaignSesClient") SesClient campaignSesClient, EmailTemplateEngine templateEngine,
+			EmailMetrics emailMetrics) {
+		this.sesClient = sesClient;
+		this.campaignSesClient = campaignSesClient;
+		this.templateEngine = templateEngine;
+		this.emailMetrics = emailMetrics;
+	}
+	
+	private AwsSesEmailService(AwsSesEmailService source) {
+		this(source.campaignSesClient, source.campaignSesClient, source.templateEngine, source.emailMetrics);
+		this.fromEmail = source.fromEmail;
+		this.senderName = source.senderName;
+		this.passwordResetLink = source.passwordResetLink;
+		this.emailVerificationLink = source.emailVerificationLink;
+		this.withoutProviderRetries = this;
+	}
+	
+	/**
+	 * Same service on the campaign client, which has no SDK retries; for callers that retry themselves.
+	 */
+	@Override
+	public EmailService withoutProviderRetries() {
+		AwsSesEmailService view = withoutProviderRetries;
+		if (view == null) {
+			view = new AwsSesEmailService(this);
+			withoutProviderRetries = view;
+		}
+		return view;
+	}
 	
 	@Override
 	public void sendSimpleEmail(String to, String subject, String body) {
@@ -62,7 +106,8 @@ public class AwsSesEmailService implements EmailService {
 					.build())
 				.build();
 			
-			SendEmailResponse response = sesClient.sendEmail(request);
+			SendEmailResponse response = emailMetrics.recordProviderCall(EmailMetrics.PROVIDER_SES,
+					() -> sesClient.sendEmail(request));
 			log.info("✅ Email sent successfully. MessageId: {}", response.messageId());
 			
 		} catch (SesException e) {
@@ -87,7 +132,8 @@ public class AwsSesEmailService implements EmailService {
 					.build())
 				.build();
 			
-			SendEmailResponse response = sesClient.sendEmail(request);
+			SendEmailResponse response = emailMetrics.recordProviderCall(EmailMetrics.PROVIDER_SES,
+					() -> sesClient.sendEmail(request));
 			log.info("✅ HTML email sent successfully. MessageId: {}", response.messageId());
 			
 		} catch (SesException e) {
@@ -102,8 +148,8 @@ public class AwsSesEmailService implements EmailService {
 			log.info("🔐 Sending password reset email to: {}", email);
 			
 			String resetUrl = passwordResetLink + resetToken;
-			String subject = "Password Reset Request - ESOP";
-			String htmlBody = buildPasswordResetHtml(email, resetUrl);
+			String subject = templateEngine.renderSubject(EmailTemplateConst.PASSWORD_RESET);
+			String htmlBody = templateEngine.render(EmailTemplateConst.PASSWORD_RESET, Map.of("resetUrl", resetUrl));
 			
 			sendHtmlEmail(email, subject, htmlBody);
 			
@@ -119,8 +165,9 @@ public class AwsSesEmailService implements EmailService {
 			log.info("✉️ Sending email verification to: {}", email);
 			
 			String verificationUrl = emailVerificationLink + verificationToken;
-			String subject = "Verify Your Email - ESOP";
-			String htmlBody = buildEmailVerificationHtml(email, verificationUrl);
+			String subject = templateEngine.renderSubject(EmailTemplateConst.EMAIL_VERIFICATION);
+			String htmlBody = templateEngine.render(EmailTemplateConst.EMAIL_VERIFICATION,
+					Map.of("verificationUrl", verificationUrl));
 			
 			sendHtmlEmail(email, subject, htmlBody);
 			
@@ -135,8 +182,11 @@ public class AwsSesEmailService implements EmailService {
 		try {
 			log.info("💰 Sending transaction notification to: {}", email);
 			
-			String subject = "Transaction Notification - ESOP";
-			String htmlBody = buildTransactionNotificationHtml(email, transactionCode, status);
+			String subject = templateEngine.renderSubject(EmailTemplateConst.TRANSACTION_NOTIFICATION);
+			String htmlBody = templateEngine.render(EmailTemplateConst.TRANSACTION_NOTIFICATION, Map.of(
+					"transactionCode", transactionCode,
+					"status", status,
+					"statusColor", status.equals("Successful") ? "#28a745" : "#dc3545"));
 			
 			sendHtmlEmail(email, subject, htmlBody);
 			
@@ -150,56 +200,4 @@ public class AwsSesEmailService implements EmailService {
 	private String formatSender() {
 		return String.format("%s <%s>", senderName, fromEmail);
 	}
-	
-	private String buildPasswordResetHtml(String email, String resetUrl) {
-		return String.format(
-				"<html>" +
-						"<body style='font-family: Arial, sans-serif;'>" +
-						"<h2>Password Reset Request</h2>" +
-						"<p>Hello,</p>" +
-						"<p>We received a request to reset your password. Click the link below to proceed:</p>" +
-						"<p><a href='%s' style='background-color: #007bff; color: white; padding: 10px 20px; " +
-						"text-decoration: none; border-radius: 5px; display: inline-block;'>" +
-						"Reset Password</a></p>" +
-						"<p>This link expires in 1 hour.</p>" +
-						"<p>If you didn't request this, ignore this email.</p>" +
-						"<p>Best regards,<br/>ESOP Team</p>" +
-						"</body>" +
-						"</html>",
-				resetUrl);
-	}
-	
-	private String buildEmailVerificationHtml(String email, String verificationUrl) {
-		return String.format(
-				"<html>" +
-						"<body style='font-family: Arial, sans-serif;'>" +
-						"<h2>Email Verification</h2>" +
-						"<p>Hello,</p>" +
-						"<p>Please verify your email address by clicking the link below:</p>" +
-						"<p><a href='%s' style='background-color: #28a745; color: white; padding: 10px 20px; " +
-						"text-decoration: none; border-radius: 5px; display: inline-block;'>" +
-						"Verify Email</a></p>" +
-						"<p>This link expires in 24 hours.</p>" +
-						"<p>Best regards,<br/>ESOP Team</p>" +
-						"</body>" +
-						"</html>",
-				verificationUrl);
-	}
-	
-	private String buildTransactionNotificationHtml(String email, String transactionCode, String status) {
-		String statusColor = status.equals("Successful") ? "#28a745" : "#dc3545";
-		return String.format(
-				"<html>" +
-						"<body style='font-family: Arial, sans-serif;'>" +
-						"<h2>Transaction Notification</h2>" +
-						"<p>Hello,</p>" +
-						"<p>Your transaction has been updated:</p>" +
-						"<p><strong>Transaction Code:</strong> %s</p>" +
-						"<p><strong>Status:</strong> <span style='color: %s; font-weight: bold;'>%s</span></p>" +
-						"<p>For more details, please log in to your account.</p>" +
-						"<p>Best regards,<br/>ESOP Team</p>" +
-						"</body>" +
-						"</html>",
-				transactionCode, statusColor, status);
-	}
 }
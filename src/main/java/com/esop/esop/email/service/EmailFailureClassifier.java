@@ -0,0 +1,119 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Component;
+
+import jakarta.mail.MessagingException;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+import com.esop.esop.email.model.EmailFailureType;
+
+/**
+ * Decides whether a failed send is worth retrying by walking the exception cause chain.
+ * SMTP failures are classified from the reply code at the start of the server message
+ * (e.g. "421 4.7.0 Try again later"), so no provider-specific exception classes are needed.
+ */
+@Component
+public class EmailFailureClassifier {
+	private static final Pattern SMTP_REPLY = Pattern.compile("^\\s*([45])(\\d\\d)(?:[ -]+([245]\\.\\d{1,3}\\.\\d{1,3}))?");
+	
+	private static final int SMTP_SERVICE_NOT_AVAILABLE = 421;
+	
+	private static final int HTTP_TOO_MANY_REQUESTS = 429;
+	
+	private static final int HTTP_SERVER_ERROR = 500;
+	
+	
+	public EmailFailureType classify(Throwable error) {
+		for (Throwable current = error; current != null; current = current.getCause()) {
+			final EmailFailureType type = classifyOne(current);
+			if (type != null) {
+				return type;
+			}
+			if (current.getCause() == current) {
+				break;
+			}
+		}
+		return EmailFailureType.PERMANENT;
+	}
+	
+	public boolean isRetryable(EmailFailureType type) {
+		return type == EmailFailureType.THROTTLED || type == EmailFailureType.TRANSIENT;
+	}
+	
+	private EmailFailureType classifyOne(Throwable error) {
+		if (error instanceof AwsServiceException awsError) {
+			if (awsError.isThrottlingException() || awsError.statusCode() == HTTP_TOO_MANY_REQUESTS) {
+				return EmailFailureType.THROTTLED;
+			}
+			return awsError.statusCode() >= HTTP_SERVER_ERROR || awsError.retryable()
+					? EmailFailureType.TRANSIENT
+					: EmailFailureType.PERMANENT;
+		}
+		if (error instanceof SdkClientException) {
+			return EmailFailureType.TRANSIENT;
+		}
+		if (error instanceof MailAuthenticationException || error instanceof MailParseException
+				|| error instanceof MailPreparationException) {
+			return EmailFailureType.PERMANENT;
+		}
+		if (error instanceof MailSendException mailSendError) {
+			for (Exception messageError : mailSendError.getMessageExceptions()) {
+				final EmailFailureType type = classify(messageError);
+				if (type != EmailFailureType.PERMANENT) {
+					return type;
+				}
+			}
+			return mailSendError.getMessageExceptions().length > 0 ? EmailFailureType.PERMANENT : null;
+		}
+		if (error instanceof MessagingException) {
+			return classifySmtpReply(error.getMessage());
+		}
+		if (error instanceof RejectedExecutionException) {
+			// Local send queue full: back off like a provider throttle
+			return EmailFailureType.THROTTLED;
+		}
+		if (error instanceof SocketTimeoutException || error instanceof ConnectException
+				|| error instanceof SocketException) {
+			return EmailFailureType.TRANSIENT;
+		}
+		return null;
+	}
+	
+	private EmailFailureType classifySmtpReply(String message) {
+		if (message == null) {
+			return null;
+		}
+		final Matcher matcher = SMTP_REPLY.matcher(message);
+		if (!matcher.find()) {
+			return null;
+		}
+		
+		final int code = Integer.parseInt(matcher.group(1) + matcher.group(2));
+		final String enhancedCode = matcher.group(3);
+		if (code == SMTP_SERVICE_NOT_AVAILABLE || (enhancedCode != null && enhancedCode.startsWith("4.7."))) {
+			return EmailFailureType.THROTTLED;
+		}
+		return code / 100 == 4 ? EmailFailureType.TRANSIENT : EmailFailureType.PERMANENT;
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import com.esop.esop.email.model.EmailLane;
+import com.esop.esop.email.model.EmailLaneStats;
+
+/**
+ * Per-lane counters: executor queue wait (submit to start) and time spent waiting on the rate limiter.
+ * Both waits are also published as the email.queue.wait and email.rate_limit.wait timers.
+ */
+@Component
+public class EmailLaneMonitor {
+	private final Map<EmailLane, LaneCounters> counters = new EnumMap<>(EmailLane.class);
+	
+	
+	public EmailLaneMonitor(MeterRegistry meterRegistry) {
+		for (EmailLane lane : EmailLane.values()) {
+			counters.put(lane, new LaneCounters(
+					Timer.builder("email.queue.wait")
+						.description("Time an email task waited in the lane executor queue")
+						.tag("lane", lane.name())
+						.publishPercentileHistogram()
+						.register(meterRegistry),
+					Timer.builder("email.rate_limit.wait")
+						.description("Time a send waited for a rate limiter token")
+						.tag("lane", lane.name())
+						.publishPercentileHistogram()
+						.register(meterRegistry)));
+		}
+	}
+	
+	/**
+	 * Decorator for the lane's executor recording how long each task sat in the queue.
+	 */
+	public TaskDecorator queueWaitDecorator(EmailLane lane) {
+		final LaneCounters laneCounters = counters.get(lane);
+		return task -> {
+			final long submittedAt = System.nanoTime();
+			laneCounters.submitted.increment();
+			return () -> {
+				laneCounters.recordQueueWait(System.nanoTime() - submittedAt);
+				try {
+					task.run();
+				} finally {
+					laneCounters.completed.increment();
+				}
+			};
+		};
+	}
+	
+	public void recordRateLimitWait(EmailLane lane, long waitNanos) {
+		final LaneCounters laneCounters = counters.get(lane);
+		laneCounters.rateLimitWaits.increment();
+		laneCounters.rateLimitWaitNanos.add(waitNanos);
+		laneCounters.rateLimitWaitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	public EmailLaneStats getStats(EmailLane lane) {
+		final LaneCounters laneCounters = counters.get(lane);
+		final long started = laneCounters.started.sum();
+		final long submitted = laneCounters.submitted.sum();
+		final long rateLimitWaits = laneCounters.rateLimitWaits.sum();
+		return EmailLaneStats.builder()
+			.lane(lane)
+			.submitted(submitted)
+			.completed(laneCounters.completed.sum())
+			.queued((int) Math.max(0, submitted - started))
+			.avgQueueWaitMs(started == 0 ? 0 : toMillis(laneCounters.queueWaitNanos.sum()) / started)
+			.maxQueueWaitMs(toMillis(laneCounters.maxQueueWaitNanos.get()))
+			.avgRateLimitWaitMs(rateLimitWaits == 0 ? 0 : toMillis(laneCounters.rateLimitWaitNanos.sum()) / rateLimitWaits)
+			.build();
+	}
+	
+	public List<EmailLaneStats> getStats() {
+		return Arrays.stream(EmailLane.values()).map(this::getStats).toList();
+	}
+	
+	private static double toMillis(long nanos) {
+		return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+	
+	private static final class LaneCounters {
+		private final LongAdder submitted = new LongAdder();
+		
+		private final LongAdder started = new LongAdder();
+		
+		private final LongAdder completed = new LongAdder();
+		
+		private final LongAdder queueWaitNanos = new LongAdder();
+		
+		private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+		
+		private final LongAdder rateLimitWaits = new LongAdder();
+		
+		private final LongAdder rateLimitWaitNanos = new LongAdder();
+		
+		private final Timer queueWaitTimer;
+		
+		private final Timer rateLimitWaitTimer;
+		
+		
+		private LaneCounters(Timer queueWaitTimer, Timer rateLimitWaitTimer) {
+			this.queueWaitTimer = queueWaitTimer;
+			this.rateLimitWaitTimer = rateLimitWaitTimer;
+		}
+		
+		private void recordQueueWait(long waitNanos) {
+			started.increment();
+			queueWaitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+			queueWaitNanos.add(waitNanos);
+			maxQueueWaitNanos.accumulateAndGet(waitNanos, Math::max);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import com.esop.esop.email.model.EmailFailureType;
+import com.esop.esop.email.model.EmailLane;
+
+/**
+ * Micrometer meters of the email pipeline (exported at /actuator/prometheus).
+ * <ul>
+ * <li>email.provider.send - one provider call (SMTP transaction / SES request), by provider and outcome</li>
+ * <li>email.provider.errors - failed provider calls by provider, failure type and exception</li>
+ * <li>email.send - end-to-end send of one email including retries and rate-limit waits, by lane and outcome</li>
+ * <li>email.retries / email.throttled - retry attempts and throttle signals, by lane</li>
+ * </ul>
+ * Queue and rate-limit waits are recorded by {@link EmailLaneMonitor}, executor saturation by AsyncConfig.
+ */
+@Component
+public class EmailMetrics {
+	public static final String PROVIDER_SMTP = "smtp";
+	
+	public static final String PROVIDER_SES = "ses";
+	
+	public static final String PROVIDER_SES_ASYNC = "ses-async";
+	
+	private static final String OUTCOME_SUCCESS = "success";
+	
+	private static final String OUTCOME_FAILURE = "failure";
+	
+	private final MeterRegistry meterRegistry;
+	
+	private final EmailFailureClassifier emailFailureClassifier;
+	
+	
+	public EmailMetrics(MeterRegistry meterRegistry, EmailFailureClassifier emailFailureClassifier) {
+		this.meterRegistry = meterRegistry;
+		this.emailFailureClassifier = emailFailureClassifier;
+	}
+	
+	/**
+	 * Time a provider call; failures are counted by type and rethrown unchanged.
+	 */
+	public <T> T recordProviderCall(String provider, Supplier<T> call) {
+		final long startedAt = System.nanoTime();
+		try {
+			final T result = call.get();
+			recordProviderCall(provider, System.nanoTime() - startedAt, null);
+			return result;
+		} catch (RuntimeException e) {
+			recordProviderCall(provider, System.nanoTime() - startedAt, e);
+			throw e;
+		}
+	}
+	
+	public void recordProviderCall(String provider, Runnable call) {
+		recordProviderCall(provider, () -> {
+			call.run();
+			return null;
+		});
+	}
+	
+	/**
+	 * @param error null when the call succeeded
+	 */
+	public void recordProviderCall(String provider, long elapsedNanos, Throwable error) {
+		Timer.builder("email.provider.send")
+			.description("Provider call latency (one SMTP transaction or SES request)")
+			.tag("provider", provider)
+			.tag("outcome", error == null ? OUTCOME_SUCCESS : OUTCOME_FAILURE)
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(elapsedNanos, TimeUnit.NANOSECONDS);
+		if (error != null) {
+			Counter.builder("email.provider.errors")
+				.description("Failed provider calls by failure type")
+				.tag("provider", provider)
+				.tag("type", emailFailureClassifier.classify(error).name())
+				.tag("exception", rootCause(error).getClass().getSimpleName())
+				.register(meterRegistry)
+				.increment();
+		}
+	}
+	
+	public void recordSend(EmailLane lane, long elapsedNanos, EmailFailureType failureType) {
+		Timer.builder("email.send")
+			.description("End-to-end send of one email including retries and rate-limit waits")
+			.tag("lane", lane.name())
+			.tag("outcome", failureType == null ? OUTCOME_SUCCESS : failureType.name())
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(elapsedNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	public void recordRetry(EmailLane lane, EmailFailureType failureType) {
+		meterRegistry.counter("email.retries", "lane", lane.name(), "type", failureType.name()).increment();
+		if (failureType == EmailFailureType.THROTTLED) {
+			meterRegistry.counter("email.throttled", "lane", lane.name()).increment();
+		}
+	}
+	
+	private static Throwable rootCause(Throwable error) {
+		Throwable current = error;
+		while (current.getCause() != null && current.getCause() != current) {
+			current = current.getCause();
+		}
+		return current;
+	}
+}
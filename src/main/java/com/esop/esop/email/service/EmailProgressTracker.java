@@ -9,72 +9,29 @@
  */
 package com.esop.esop.email.service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import com.esop.esop.email.model.EmailProgress;
 
-import lombok.Data;
-
-import org.springframework.stereotype.Component;
-
-@Component
-public class EmailProgressTracker {
-	
-	private final Map<String, EmailProgress> progressMap = new ConcurrentHashMap<>();
-	
-	
-	public void startTracking(String taskId, int totalEmails) {
-		progressMap.put(taskId, new EmailProgress(totalEmails));
-	}
+/**
+ * Tracks success/fail counters of a bulk send by task id.
+ * Implementation is selected by email.progress.store (memory | redis).
+ */
+public interface EmailProgressTracker {
 	
-	public void incrementSuccess(String taskId) {
-		EmailProgress progress = progressMap.get(taskId);
-		if (progress != null) {
-			progress.getSuccessCount().incrementAndGet();
-		}
-	}
+	void startTracking(String taskId, int totalEmails);
 	
-	public void incrementFail(String taskId) {
-		EmailProgress progress = progressMap.get(taskId);
-		if (progress != null) {
-			progress.getFailCount().incrementAndGet();
-		}
-	}
+	void incrementSuccess(String taskId);
 	
-	public EmailProgress getProgress(String taskId) {
-		return progressMap.get(taskId);
-	}
+	void incrementFail(String taskId);
 	
-	public void removeTracking(String taskId) {
-		progressMap.remove(taskId);
-	}
+	/**
+	 * Change the expected total of a running task, e.g. when streamed recipients turn out to be suppressed.
+	 */
+	void adjustTotal(String taskId, int delta);
 	
+	/**
+	 * @return current snapshot, or null when the task is unknown or expired
+	 */
+	EmailProgress getProgress(String taskId);
 	
-	@Data
-	public static class EmailProgress {
-		private final int totalEmails;
-		
-		private final AtomicInteger successCount = new AtomicInteger(0);
-		
-		private final AtomicInteger failCount = new AtomicInteger(0);
-		
-		
-		public EmailProgress(int totalEmails) {
-			this.totalEmails = totalEmails;
-		}
-		
-		public int getProcessed() {
-			return successCount.get() + failCount.get();
-		}
-		
-		public double getProgressPercentage() {
-			if (totalEmails == 0)
-				return 0;
-			return (double) getProcessed() / totalEmails * 100;
-		}
-		
-		public boolean isCompleted() {
-			return getProcessed() >= totalEmails;
-		}
-	}
+	void removeTracking(String taskId);
 }
@@ -0,0 +1,129 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.esop.esop.email.model.EmailLane;
+
+/**
+ * Send-rate budget shared by all email lanes (SES sending rate / SMTP relay limit).
+ * Two token buckets split the rate: the transactional bucket is refilled at the reserved share,
+ * the bulk bucket at the rest. Transactional sends may also draw from the bulk bucket; bulk sends never
+ * touch the transactional reserve, except for tokens that overflow a full transactional bucket.
+ * A rate of 0 or less disables limiting.
+ */
+@Slf4j
+@Component
+public class EmailRateLimiter {
+	private static final long MIN_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	
+	/** Re-check at least this often; bulk may receive tokens overflowing the transactional bucket */
+	private static final long MAX_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+	
+	private final boolean enabled;
+	
+	private final double transactionalRatePerNano;
+	
+	private final double bulkRatePerNano;
+	
+	private final double transactionalCapacity;
+	
+	private final double bulkCapacity;
+	
+	private double transactionalTokens;
+	
+	private double bulkTokens;
+	
+	private long lastRefillNanos;
+	
+	
+	public EmailRateLimiter(@Value("${email.rate-limit.per-second:14}") double permitsPerSecond,
+			@Value("${email.rate-limit.transactional-share:0.2}") double transactionalShare) {
+		this.enabled = permitsPerSecond > 0;
+		final double share = Math.min(1, Math.max(0, transactionalShare));
+		final double transactionalPerSecond = permitsPerSecond * share;
+		final double bulkPerSecond = permitsPerSecond - transactionalPerSecond;
+		this.transactionalRatePerNano = transactionalPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.bulkRatePerNano = bulkPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.transactionalCapacity = Math.max(1, transactionalPerSecond);
+		this.bulkCapacity = Math.max(1, bulkPerSecond);
+		this.transactionalTokens = this.transactionalCapacity;
+		this.bulkTokens = this.bulkCapacity;
+		this.lastRefillNanos = System.nanoTime();
+		log.info("✅ Email rate limiter initialized: {}/s, transactional reserve {}/s", permitsPerSecond,
+				transactionalPerSecond);
+	}
+	
+	/**
+	 * Block until the lane may send one email.
+	 *
+	 * @return nanoseconds spent waiting
+	 */
+	public long acquire(EmailLane lane) throws InterruptedException {
+		if (!enabled) {
+			return 0;
+		}
+		
+		final long start = System.nanoTime();
+		while (true) {
+			final long waitNanos;
+			synchronized (this) {
+				refill(System.nanoTime());
+				if (lane == EmailLane.TRANSACTIONAL && transactionalTokens >= 1) {
+					transactionalTokens--;
+					return System.nanoTime() - start;
+				}
+				if (bulkTokens >= 1) {
+					bulkTokens--;
+					return System.nanoTime() - start;
+				}
+				waitNanos = nanosUntilToken(lane);
+			}
+			TimeUnit.NANOSECONDS.sleep(Math.min(MAX_SLEEP_NANOS, Math.max(MIN_SLEEP_NANOS, waitNanos)));
+		}
+	}
+	
+	private void refill(long now) {
+		final long elapsed = now - lastRefillNanos;
+		if (elapsed <= 0) {
+			return;
+		}
+		lastRefillNanos = now;
+		
+		transactionalTokens += elapsed * transactionalRatePerNano;
+		double overflow = 0;
+		if (transactionalTokens > transactionalCapacity) {
+			overflow = transactionalTokens - transactionalCapacity;
+			transactionalTokens = transactionalCapacity;
+		}
+		bulkTokens = Math.min(bulkCapacity, bulkTokens + elapsed * bulkRatePerNano + overflow);
+	}
+	
+	private long nanosUntilToken(EmailLane lane) {
+		final long bulkWait = nanosUntilToken(bulkTokens, bulkRatePerNano);
+		if (lane == EmailLane.BULK) {
+			return bulkWait;
+		}
+		return Math.min(bulkWait, nanosUntilToken(transactionalTokens, transactionalRatePerNano));
+	}
+	
+	private static long nanosUntilToken(double tokens, double ratePerNano) {
+		if (ratePerNano <= 0) {
+			return Long.MAX_VALUE;
+		}
+		return (long) Math.ceil((1 - tokens) / ratePerNano);
+	}
+}
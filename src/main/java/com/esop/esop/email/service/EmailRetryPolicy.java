@@ -0,0 +1,50 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exponential backoff with full jitter: attempt n waits a random time in [0, min(max, base * 2^(n-1))],
+ * so workers throttled at the same moment do not retry in lockstep.
+ */
+@Component
+public class EmailRetryPolicy {
+	@Getter
+	private final int maxAttempts;
+	
+	private final long baseBackoffNanos;
+	
+	private final long maxBackoffNanos;
+	
+	
+	public EmailRetryPolicy(@Value("${email.retry.max-attempts:4}") int maxAttempts,
+			@Value("${email.retry.base-backoff-ms:200}") long baseBackoffMillis,
+			@Value("${email.retry.max-backoff-ms:10000}") long maxBackoffMillis) {
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.baseBackoffNanos = TimeUnit.MILLISECONDS.toNanos(baseBackoffMillis);
+		this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(maxBackoffMillis);
+	}
+	
+	public boolean canRetry(int attempt) {
+		return attempt < maxAttempts;
+	}
+	
+	public long backoffNanos(int attempt) {
+		final long ceiling = Math.min(maxBackoffNanos, baseBackoffNanos << Math.min(attempt - 1, 20));
+		return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+	}
+}
@@ -9,6 +9,10 @@
  */
 package com.esop.esop.email.service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import lombok.NonNull;
 
 public interface EmailService {
@@ -38,4 +42,34 @@ public interface EmailService {
 	 */
 	void sendTransactionNotification(@NonNull String email, @NonNull String transactionCode,
 			@NonNull String status);
+	
+	/**
+	 * This service for callers that retry failed sends themselves: provider calls made through the returned
+	 * instance skip the provider client's own retries, so a retry policy on top does not multiply provider calls.
+	 */
+	default EmailService withoutProviderRetries() {
+		return this;
+	}
+	
+	/**
+	 * Send the same HTML email (no per-recipient content) to every recipient.
+	 * Implementations may build the message once and reuse it for all recipients.
+	 *
+	 * @return failed recipients, keyed by the recipient string as given, with their error; empty when every
+	 *         recipient was accepted
+	 * @throws com.esop.esop.email.exception.EmailSendException only when the message could not be built, before
+	 *         anything was sent; once sending has started every outcome is reported per recipient
+	 */
+	default Map<String, Exception> sendIdenticalHtmlEmails(@NonNull List<String> recipients, @NonNull String subject,
+			@NonNull String htmlBody) {
+		Map<String, Exception> failures = new LinkedHashMap<>();
+		for (String recipient : recipients) {
+			try {
+				sendHtmlEmail(recipient, subject, htmlBody);
+			} catch (Exception e) {
+				failures.put(recipient, e);
+			}
+		}
+		return failures;
+	}
 }
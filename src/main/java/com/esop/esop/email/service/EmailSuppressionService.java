@@ -0,0 +1,222 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.esop.esop.common.util.BloomFilter;
+import com.esop.esop.common.util.DateTimeUtil;
+import com.esop.esop.common.util.EmailUtil;
+import com.esop.esop.email.model.EmailSuppression;
+import com.esop.esop.email.model.EmailSuppressionReason;
+import com.esop.esop.email.repository.EmailSuppressionRepository;
+
+/**
+ * Suppression list for bulk email (hard bounces and complaints reported by SES).
+ * The table is the source of truth; an in-memory Bloom filter in front of it answers
+ * "definitely not suppressed" for almost every recipient, so only Bloom positives hit the database.
+ * The filter is rebuilt at startup and periodically to pick up rows written by other instances.
+ */
+@Slf4j
+@Service
+public class EmailSuppressionService {
+	private static final int LOOKUP_CHUNK_SIZE = 1000;
+	
+	private static final String SNS_NOTIFICATION = "Notification";
+	
+	private static final String SNS_SUBSCRIPTION_CONFIRMATION = "SubscriptionConfirmation";
+	
+	private static final String BOUNCE = "Bounce";
+	
+	private static final String COMPLAINT = "Complaint";
+	
+	private static final String PERMANENT_BOUNCE = "Permanent";
+	
+	private final EmailSuppressionRepository emailSuppressionRepository;
+	
+	private final ObjectMapper objectMapper;
+	
+	private final long minExpectedInsertions;
+	
+	private final double falsePositiveProbability;
+	
+	private volatile BloomFilter bloomFilter;
+	
+	
+	public EmailSuppressionService(EmailSuppressionRepository emailSuppressionRepository, ObjectMapper objectMapper,
+			@Value("${email.suppression.bloom.expected-insertions:100000}") long minExpectedInsertions,
+			@Value("${email.suppression.bloom.false-positive-probability:0.001}") double falsePositiveProbability) {
+		this.emailSuppressionRepository = emailSuppressionRepository;
+		this.objectMapper = objectMapper;
+		this.minExpectedInsertions = minExpectedInsertions;
+		this.falsePositiveProbability = falsePositiveProbability;
+		this.bloomFilter = new BloomFilter(minExpectedInsertions, falsePositiveProbability);
+	}
+	
+	/**
+	 * Rebuild the Bloom filter from the table and swap it in.
+	 * Rows inserted while streaming are re-read after the swap so none are lost.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${email.suppression.refresh-interval-ms:600000}",
+			initialDelayString = "${email.suppression.refresh-interval-ms:600000}")
+	@Transactional(readOnly = true)
+	public void rebuild() {
+		final ZonedDateTime startedAt = DateTimeUtil.now();
+		final long count = emailSuppressionRepository.count();
+		final BloomFilter next = new BloomFilter(Math.max(minExpectedInsertions, count * 2), falsePositiveProbability);
+		final AtomicLong loaded = new AtomicLong();
+		
+		try (Stream<String> emails = emailSuppressionRepository.streamAllEmails()) {
+			emails.forEach(email -> {
+				next.put(email);
+				loaded.incrementAndGet();
+			});
+		}
+		this.bloomFilter = next;
+		emailSuppressionRepository.findEmailsCreatedSince(startedAt).forEach(next::put);
+		
+		log.info("🧹 Email suppression filter rebuilt: {} addresses, {} bits", loaded.get(), next.bitSize());
+	}
+	
+	public boolean isSuppressed(String email) {
+		final String normalized = EmailUtil.normalize(email);
+		return bloomFilter.mightContain(normalized) && emailSuppressionRepository.existsByEmail(normalized);
+	}
+	
+	/**
+	 * Remove suppressed addresses from the recipient list, keeping the original order and spelling.
+	 */
+	public List<String> filterSuppressed(List<String> recipients) {
+		final BloomFilter filter = this.bloomFilter;
+		final Set<String> candidates = new HashSet<>();
+		for (String recipient : recipients) {
+			final String normalized = EmailUtil.normalize(recipient);
+			if (filter.mightContain(normalized)) {
+				candidates.add(normalized);
+			}
+		}
+		if (candidates.isEmpty()) {
+			return recipients;
+		}
+		
+		final Set<String> suppressed = new HashSet<>();
+		final List<String> pending = new ArrayList<>(candidates);
+		for (int i = 0; i < pending.size(); i += LOOKUP_CHUNK_SIZE) {
+			suppressed.addAll(emailSuppressionRepository.findEmailsIn(
+					pending.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, pending.size()))));
+		}
+		if (suppressed.isEmpty()) {
+			return recipients;
+		}
+		
+		final List<String> deliverable = new ArrayList<>(recipients.size() - suppressed.size());
+		for (String recipient : recipients) {
+			if (!suppressed.contains(EmailUtil.normalize(recipient))) {
+				deliverable.add(recipient);
+			}
+		}
+		log.info("🚫 Skipped {} suppressed recipients ({} Bloom candidates)",
+				recipients.size() - deliverable.size(), candidates.size());
+		return deliverable;
+	}
+	
+	public void suppress(String email, EmailSuppressionReason reason, String detail) {
+		final String normalized = EmailUtil.normalize(email);
+		if (!emailSuppressionRepository.existsByEmail(normalized)) {
+			try {
+				emailSuppressionRepository.save(EmailSuppression.builder()
+					.email(normalized)
+					.reason(reason)
+					.detail(detail)
+					.build());
+				log.info("🚫 Suppressed {} ({} {})", normalized, reason, detail);
+			} catch (DataIntegrityViolationException e) {
+				log.debug("Address {} was suppressed concurrently", normalized);
+			}
+		}
+		bloomFilter.put(normalized);
+	}
+	
+	/**
+	 * Ingest an SES bounce/complaint notification, either raw or wrapped in an SNS envelope.
+	 * Only permanent bounces and complaints suppress an address; transient bounces are retried normally.
+	 *
+	 * @return number of addresses suppressed by this notification
+	 */
+	public int ingestNotification(String payload) {
+		JsonNode notification = readJson(payload);
+		final String snsType = notification.path("Type").asText();
+		if (SNS_SUBSCRIPTION_CONFIRMATION.equals(snsType)) {
+			log.info("📨 SNS subscription confirmation received, confirm via: {}",
+					notification.path("SubscribeURL").asText());
+			return 0;
+		}
+		if (SNS_NOTIFICATION.equals(snsType)) {
+			notification = readJson(notification.path("Message").asText());
+		}
+		
+		final String notificationType = notification.has("notificationType")
+				? notification.path("notificationType").asText()
+				: notification.path("eventType").asText();
+		
+		int suppressed = 0;
+		if (BOUNCE.equals(notificationType)) {
+			final JsonNode bounce = notification.path("bounce");
+			if (!PERMANENT_BOUNCE.equals(bounce.path("bounceType").asText())) {
+				log.info("↩️ Ignoring {} bounce", bounce.path("bounceType").asText());
+				return 0;
+			}
+			for (JsonNode recipient : bounce.path("bouncedRecipients")) {
+				suppress(recipient.path("emailAddress").asText(), EmailSuppressionReason.BOUNCE,
+						bounce.path("bounceSubType").asText(null));
+				suppressed++;
+			}
+		} else if (COMPLAINT.equals(notificationType)) {
+			final JsonNode complaint = notification.path("complaint");
+			for (JsonNode recipient : complaint.path("complainedRecipients")) {
+				suppress(recipient.path("emailAddress").asText(), EmailSuppressionReason.COMPLAINT,
+						complaint.path("complaintFeedbackType").asText(null));
+				suppressed++;
+			}
+		} else {
+			log.debug("Ignoring SES notification of type {}", notificationType);
+		}
+		return suppressed;
+	}
+	
+	private JsonNode readJson(String payload) {
+		try {
+			return objectMapper.readTree(payload);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Invalid SES notification payload", e);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.esop.esop.common.redis.RedisConst;
+import com.esop.esop.email.model.EmailProgress;
+
+/**
+ * Node-local progress tracker. Entries idle for longer than email.progress.ttl-seconds are evicted.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "email.progress.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEmailProgressTracker implements EmailProgressTracker {
+	
+	private final Map<String, ProgressEntry> progressMap = new ConcurrentHashMap<>();
+	
+	private final long ttlInMillis;
+	
+	
+	public InMemoryEmailProgressTracker(
+			@Value("${email.progress.ttl-seconds:" + RedisConst.DEFAULT_EMAIL_PROGRESS_TTL_IN_SECONDS + "}") long ttlInSeconds) {
+		this.ttlInMillis = TimeUnit.SECONDS.toMillis(ttlInSeconds);
+	}
+	
+	@Override
+	public void startTracking(String taskId, int totalEmails) {
+		progressMap.put(taskId, new ProgressEntry(totalEmails));
+	}
+	
+	@Override
+	public void incrementSuccess(String taskId) {
+		ProgressEntry entry = progressMap.get(taskId);
+		if (entry != null) {
+			entry.successCount.incrementAndGet();
+			entry.touch();
+		}
+	}
+	
+	@Override
+	public void incrementFail(String taskId) {
+		ProgressEntry entry = progressMap.get(taskId);
+		if (entry != null) {
+			entry.failCount.incrementAndGet();
+			entry.touch();
+		}
+	}
+	
+	@Override
+	public void adjustTotal(String taskId, int delta) {
+		ProgressEntry entry = progressMap.get(taskId);
+		if (entry != null) {
+			entry.totalEmails.addAndGet(delta);
+			entry.touch();
+		}
+	}
+	
+	@Override
+	public EmailProgress getProgress(String taskId) {
+		ProgressEntry entry = progressMap.get(taskId);
+		if (entry == null) {
+			return null;
+		}
+		return EmailProgress.builder()
+			.taskId(taskId)
+			.totalEmails(entry.totalEmails.get())
+			.successCount(entry.successCount.get())
+			.failCount(entry.failCount.get())
+			.build();
+	}
+	
+	@Override
+	public void removeTracking(String taskId) {
+		progressMap.remove(taskId);
+	}
+	
+	@Scheduled(fixedDelayString = "${email.progress.eviction-interval-ms:60000}")
+	public void evictExpired() {
+		long expiredBefore = System.currentTimeMillis() - ttlInMillis;
+		int sizeBefore = progressMap.size();
+		progressMap.values().removeIf(entry -> entry.lastUpdatedAt < expiredBefore);
+		int evicted = sizeBefore - progressMap.size();
+		if (evicted > 0) {
+			log.info("🧹 Evicted {} expired email progress entries", evicted);
+		}
+	}
+	
+	
+	private static class ProgressEntry {
+		private final AtomicInteger totalEmails;
+		
+		private final AtomicInteger successCount = new AtomicInteger(0);
+		
+		private final AtomicInteger failCount = new AtomicInteger(0);
+		
+		private volatile long lastUpdatedAt = System.currentTimeMillis();
+		
+		
+		ProgressEntry(int totalEmails) {
+			this.totalEmails = new AtomicInteger(totalEmails);
+		}
+		
+		void touch() {
+			lastUpdatedAt = System.currentTimeMillis();
+		}
+	}
+}
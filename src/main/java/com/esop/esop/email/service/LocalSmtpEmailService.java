@@ -9,16 +9,30 @@
  */
 package com.esop.esop.email.service;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import jakarta.mail.Session;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 
+import com.esop.esop.email.template.EmailTemplateConst;
+import com.esop.esop.email.template.EmailTemplateEngine;
+
 /**
  * Local SMTP Email Service (dùng SMTP4Dev)
  * Chỉ active khi EMAIL_SES_ENABLED=false
@@ -30,21 +44,32 @@ public class LocalSmtpEmailService implements EmailService {
 	
 	private final JavaMailSender mailSender;
 	
+	private final EmailTemplateEngine templateEngine;
+	
+	private final EmailMetrics emailMetrics;
+	
 	@Value("${email.from}")
 	private String fromEmail;
 	
 	@Value("${email.sender-name}")
 	private String senderName;
-
+	
 	@Value("${email.password-reset-link}")
 	private String passwordResetLink;
 	
 	@Value("${email.email-verification-link}")
 	private String emailVerificationLink;
 	
+	/** Recipients per SMTP transaction for identical sends; above 1 they are delivered as Bcc */
+	@Value("${email.smtp.rcpt-batch-size:1}")
+	private int rcptBatchSize;
+	
 	
-	public LocalSmtpEmailService(JavaMailSender mailSender) {
+	public LocalSmtpEmailService(JavaMailSender mailSender, EmailTemplateEngine templateEngine,
+			EmailMetrics emailMetrics) {
 		this.mailSender = mailSender;
+		this.templateEngine = templateEngine;
+		this.emailMetrics = emailMetrics;
 	}
 	
 	@Override
@@ -60,7 +85,7 @@ public class LocalSmtpEmailService implements EmailService {
 			helper.setSubject(subject);
 			helper.setText(body, false); // Plain text
 			
-			mailSender.send(message);
+			emailMetrics.recordProviderCall(EmailMetrics.PROVIDER_SMTP, () -> mailSender.send(message));
 			
 			log.info("✅ [LOCAL] Simple email sent successfully to: {}", to);
 			
@@ -83,7 +108,7 @@ public class LocalSmtpEmailService implements EmailService {
 			helper.setSubject(subject);
 			helper.setText(htmlBody, true); // HTML
 			
-			mailSender.send(message);
+			emailMetrics.recordProviderCall(EmailMetrics.PROVIDER_SMTP, () -> mailSender.send(message));
 			
 			log.info("✅ [LOCAL] HTML email sent successfully to: {}", to);
 			
@@ -93,14 +118,80 @@ public class LocalSmtpEmailService implements EmailService {
 		}
 	}
 	
+	/**
+	 * Build and encode the MIME message once, then send copies that differ only in the recipient headers.
+	 * All copies go through one send call, so they share one SMTP connection.
+	 * One rejected RCPT fails a whole Bcc copy, so the recipients of a failed copy are sent again one at a time;
+	 * only the recipients that fail on their own are reported.
+	 */
+	@Override
+	public Map<String, Exception> sendIdenticalHtmlEmails(List<String> recipients, String subject, String htmlBody) {
+		Map<String, Exception> failures = new LinkedHashMap<>();
+		if (recipients.isEmpty()) {
+			return failures;
+		}
+		log.info("📧 [LOCAL] Sending identical HTML email to {} recipients (RCPT batch size {})",
+				recipients.size(), Math.max(1, rcptBatchSize));
+		
+		PrebuiltMimeMessage.Prototype prototype;
+		try {
+			MimeMessage source = mailSender.createMimeMessage();
+			MimeMessageHelper helper = new MimeMessageHelper(source, true, "UTF-8");
+			helper.setFrom(String.format("%s <%s>", senderName, fromEmail));
+			helper.setSubject(subject);
+			helper.setText(htmlBody, true);
+			prototype = PrebuiltMimeMessage.prototype(mailSession(), source);
+		} catch (Exception e) {
+			log.error("❌ [LOCAL] Failed to build identical HTML email", e);
+			throw new com.esop.esop.email.exception.EmailSendException("Failed to build HTML email", e);
+		}
+		
+		// Failures are keyed by the recipient string as given, which is what callers look up
+		Map<InternetAddress, String> recipientsByAddress = new IdentityHashMap<>(recipients.size());
+		List<InternetAddress> addresses = new ArrayList<>(recipients.size());
+		for (String recipient : recipients) {
+			try {
+				InternetAddress address = new InternetAddress(recipient, true);
+				recipientsByAddress.put(address, recipient);
+				addresses.add(address);
+			} catch (AddressException e) {
+				failures.put(recipient, e);
+			}
+		}
+		
+		int batchSize = Math.max(1, rcptBatchSize);
+		List<List<InternetAddress>> chunks = new ArrayList<>((addresses.size() + batchSize - 1) / batchSize);
+		for (int i = 0; i < addresses.size(); i += batchSize) {
+			chunks.add(addresses.subList(i, Math.min(i + batchSize, addresses.size())));
+		}
+		
+		List<InternetAddress> retryOneByOne = new ArrayList<>();
+		sendChunks(prototype, chunks).forEach((chunk, error) -> {
+			if (chunk.size() == 1) {
+				failures.put(recipientsByAddress.get(chunk.get(0)), error);
+			} else {
+				retryOneByOne.addAll(chunk);
+			}
+		});
+		if (!retryOneByOne.isEmpty()) {
+			log.info("📧 [LOCAL] Resending {} recipients of failed Bcc copies one at a time", retryOneByOne.size());
+			sendChunks(prototype, retryOneByOne.stream().map(List::of).toList())
+				.forEach((chunk, error) -> failures.put(recipientsByAddress.get(chunk.get(0)), error));
+		}
+		
+		log.info("✅ [LOCAL] Identical HTML email sent: {} accepted / {} failed",
+				recipients.size() - failures.size(), failures.size());
+		return failures;
+	}
+	
 	@Override
 	public void sendPasswordResetEmail(String email, String resetToken) {
 		try {
 			log.info("🔐 [LOCAL] Sending password reset email to: {}", email);
 			
 			String resetUrl = passwordResetLink + resetToken;
-			String subject = "Password Reset Request - ESOP";
-			String htmlBody = buildPasswordResetHtml(email, resetUrl);
+			String subject = templateEngine.renderSubject(EmailTemplateConst.PASSWORD_RESET);
+			String htmlBody = templateEngine.render(EmailTemplateConst.PASSWORD_RESET, Map.of("resetUrl", resetUrl));
 			
 			sendHtmlEmail(email, subject, htmlBody);
 			
@@ -116,8 +207,9 @@ public class LocalSmtpEmailService implements EmailService {
 			log.info("✉️ [LOCAL] Sending email verification to: {}", email);
 			
 			String verificationUrl = emailVerificationLink + verificationToken;
-			String subject = "Verify Your Email - ESOP";
-			String htmlBody = buildEmailVerificationHtml(email, verificationUrl);
+			String subject = templateEngine.renderSubject(EmailTemplateConst.EMAIL_VERIFICATION);
+			String htmlBody = templateEngine.render(EmailTemplateConst.EMAIL_VERIFICATION,
+					Map.of("verificationUrl", verificationUrl));
 			
 			sendHtmlEmail(email, subject, htmlBody);
 			
@@ -132,8 +224,11 @@ public class LocalSmtpEmailService implements EmailService {
 		try {
 			log.info("💰 [LOCAL] Sending transaction notification to: {}", email);
 			
-			String subject = "Transaction Notification - ESOP";
-			String htmlBody = buildTransactionNotificationHtml(email, transactionCode, status);
+			String subject = templateEngine.renderSubject(EmailTemplateConst.TRANSACTION_NOTIFICATION);
+			String htmlBody = templateEngine.render(EmailTemplateConst.TRANSACTION_NOTIFICATION, Map.of(
+					"transactionCode", transactionCode,
+					"status", status,
+					"statusColor", status.equals("Successful") ? "#28a745" : "#dc3545"));
 			
 			sendHtmlEmail(email, subject, htmlBody);
 			
@@ -143,54 +238,48 @@ public class LocalSmtpEmailService implements EmailService {
 		}
 	}
 	
-	// HTML Builder Methods (same as AwsSesEmailService)
-	private String buildPasswordResetHtml(String email, String resetUrl) {
-		return String.format(
-				"<html>" +
-						"<head><style>body{font-family:Arial,sans-serif;}</style></head>" +
-						"<body>" +
-						"<h2>Password Reset Request</h2>" +
-						"<p>Hello,</p>" +
-						"<p>We received a request to reset your password. Click the link below to proceed:</p>" +
-						"<p><a href='%s' style='background-color:#007bff;color:white;padding:10px 20px;" +
-						"text-decoration:none;border-radius:5px;display:inline-block;'>Reset Password</a></p>" +
-						"<p>This link expires in 1 hour.</p>" +
-						"<p>If you didn't request this, ignore this email.</p>" +
-						"<p>Best regards,<br/>ESOP Team</p>" +
-						"</body></html>",
-				resetUrl);
-	}
-	
-	private String buildEmailVerificationHtml(String email, String verificationUrl) {
-		return String.format(
-				"<html>" +
-						"<head><style>body{font-family:Arial,sans-serif;}</style></head>" +
-						"<body>" +
-						"<h2>Email Verification</h2>" +
-						"<p>Hello,</p>" +
-						"<p>Please verify your email address by clicking the link below:</p>" +
-						"<p><a href='%s' style='background-color:#28a745;color:white;padding:10px 20px;" +
-						"text-decoration:none;border-radius:5px;display:inline-block;'>Verify Email</a></p>" +
-						"<p>This link expires in 24 hours.</p>" +
-						"<p>Best regards,<br/>ESOP Team</p>" +
-						"</body></html>",
-				verificationUrl);
+	/**
+	 * Send one copy per chunk in a single send call.
+	 *
+	 * @return the chunks whose copy was not sent, with the error
+	 */
+	private Map<List<InternetAddress>, Exception> sendChunks(PrebuiltMimeMessage.Prototype prototype,
+			List<List<InternetAddress>> chunks) {
+		Map<List<InternetAddress>, Exception> failedChunks = new IdentityHashMap<>();
+		Map<MimeMessage, List<InternetAddress>> messages = new LinkedHashMap<>();
+		for (List<InternetAddress> chunk : chunks) {
+			try {
+				messages.put(prototype.newMessage(chunk), chunk);
+			} catch (Exception e) {
+				failedChunks.put(chunk, e);
+			}
+		}
+		if (messages.isEmpty()) {
+			return failedChunks;
+		}
+		
+		try {
+			emailMetrics.recordProviderCall(EmailMetrics.PROVIDER_SMTP,
+					() -> mailSender.send(messages.keySet().toArray(new MimeMessage[0])));
+		} catch (MailSendException e) {
+			if (e.getFailedMessages().isEmpty()) {
+				messages.values().forEach(chunk -> failedChunks.put(chunk, e));
+			}
+			e.getFailedMessages().forEach((message, error) -> {
+				List<InternetAddress> chunk = messages.get(message);
+				if (chunk != null) {
+					failedChunks.put(chunk, error);
+				}
+			});
+		} catch (RuntimeException e) {
+			messages.values().forEach(chunk -> failedChunks.put(chunk, e));
+		}
+		return failedChunks;
 	}
 	
-	private String buildTransactionNotificationHtml(String email, String transactionCode, String status) {
-		String statusColor = status.equals("Successful") ? "#28a745" : "#dc3545";
-		return String.format(
-				"<html>" +
-						"<head><style>body{font-family:Arial,sans-serif;}</style></head>" +
-						"<body>" +
-						"<h2>Transaction Notification</h2>" +
-						"<p>Hello,</p>" +
-						"<p>Your transaction has been updated:</p>" +
-						"<p><strong>Transaction Code:</strong> %s</p>" +
-						"<p><strong>Status:</strong> <span style='color:%s;font-weight:bold;'>%s</span></p>" +
-						"<p>For more details, please log in to your account.</p>" +
-						"<p>Best regards,<br/>ESOP Team</p>" +
-						"</body></html>",
-				transactionCode, statusColor, status);
+	private Session mailSession() {
+		return mailSender instanceof JavaMailSenderImpl javaMailSender
+				? javaMailSender.getSession()
+				: Session.getInstance(System.getProperties());
 	}
 }
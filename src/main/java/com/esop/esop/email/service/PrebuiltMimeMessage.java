@@ -0,0 +1,101 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * MimeMessage whose headers and encoded body were produced once by a {@link Prototype}.
+ * The body bytes are shared by every copy and written to the wire as-is; saving changes only refreshes
+ * the Message-ID, so sending a copy never re-runs multipart assembly or transfer encoding.
+ */
+final class PrebuiltMimeMessage extends MimeMessage {
+	private static final String[] RECIPIENT_HEADERS = {
+		"To",
+		"Cc",
+		"Bcc",
+		"Message-ID"
+	};
+	
+	private static final String UNDISCLOSED_RECIPIENTS = "undisclosed-recipients:;";
+	
+	
+	private PrebuiltMimeMessage(final Session session, final List<String> headerLines, final byte[] content) {
+		super(session);
+		for (String headerLine : headerLines) {
+			this.headers.addHeaderLine(headerLine);
+		}
+		this.content = content;
+		this.modified = false;
+		this.saved = true;
+	}
+	
+	/**
+	 * Encode the source message once and keep everything but its recipient headers.
+	 */
+	static Prototype prototype(final Session session, final MimeMessage source) throws MessagingException, IOException {
+		source.saveChanges();
+		final ByteArrayOutputStream encoded = new ByteArrayOutputStream(8192);
+		source.writeTo(encoded);
+		
+		final MimeMessage parsed = new MimeMessage(session, new ByteArrayInputStream(encoded.toByteArray()));
+		final List<String> headerLines = Collections.list(parsed.getNonMatchingHeaderLines(RECIPIENT_HEADERS));
+		try (InputStream rawContent = parsed.getRawInputStream()) {
+			return new Prototype(session, List.copyOf(headerLines), rawContent.readAllBytes());
+		}
+	}
+	
+	@Override
+	public void saveChanges() throws MessagingException {
+		this.saved = true;
+		this.updateHeaders();
+	}
+	
+	@Override
+	protected void updateHeaders() throws MessagingException {
+		this.updateMessageID();
+	}
+	
+	record Prototype(Session session, List<String> headerLines, byte[] content) {
+		/**
+		 * Copy addressed to a single recipient in To.
+		 */
+		MimeMessage newMessage(final InternetAddress recipient) throws MessagingException {
+			final PrebuiltMimeMessage message = new PrebuiltMimeMessage(this.session, this.headerLines, this.content);
+			message.setRecipient(Message.RecipientType.TO, recipient);
+			return message;
+		}
+		
+		/**
+		 * Copy delivered to all recipients in one SMTP transaction (one RCPT TO each).
+		 * Recipients go to Bcc, which the SMTP transport strips, so nobody sees the others.
+		 */
+		MimeMessage newMessage(final List<InternetAddress> recipients) throws MessagingException {
+			if (recipients.size() == 1) {
+				return this.newMessage(recipients.get(0));
+			}
+			final PrebuiltMimeMessage message = new PrebuiltMimeMessage(this.session, this.headerLines, this.content);
+			message.setHeader("To", UNDISCLOSED_RECIPIENTS);
+			message.setRecipients(Message.RecipientType.BCC, recipients.toArray(new InternetAddress[0]));
+			return message;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.service;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.esop.esop.email.model.EmailProgress;
+import com.esop.esop.email.repository.EmailProgressRedisRepository;
+
+/**
+ * Cluster-wide progress tracker. Counters live in a Redis hash updated with HINCRBY,
+ * so progress of a campaign is visible from every node and expires with the hash TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "email.progress.store", havingValue = "redis")
+public class RedisEmailProgressTracker implements EmailProgressTracker {
+	
+	private final EmailProgressRedisRepository emailProgressRedisRepository;
+	
+	
+	@Override
+	public void startTracking(String taskId, int totalEmails) {
+		emailProgressRedisRepository.start(taskId, totalEmails);
+	}
+	
+	@Override
+	public void incrementSuccess(String taskId) {
+		emailProgressRedisRepository.increment(taskId, EmailProgressRedisRepository.SUCCESS_FIELD);
+	}
+	
+	@Override
+	public void incrementFail(String taskId) {
+		emailProgressRedisRepository.increment(taskId, EmailProgressRedisRepository.FAIL_FIELD);
+	}
+	
+	@Override
+	public void adjustTotal(String taskId, int delta) {
+		emailProgressRedisRepository.increment(taskId, EmailProgressRedisRepository.TOTAL_FIELD, delta);
+	}
+	
+	@Override
+	public EmailProgress getProgress(String taskId) {
+		return emailProgressRedisRepository.find(taskId);
+	}
+	
+	@Override
+	public void removeTracking(String taskId) {
+		emailProgressRedisRepository.remove(taskId);
+	}
+}
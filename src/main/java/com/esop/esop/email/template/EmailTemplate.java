@@ -0,0 +1,118 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Email template parsed once into literal and placeholder segments.
+ * Placeholders use the {{name}} syntax; unknown placeholders are rendered unchanged.
+ * Placeholder values are HTML-escaped while being appended, so rendering allocates nothing but the result.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class EmailTemplate {
+	private static final String PLACEHOLDER_START = "{{";
+	
+	private static final String PLACEHOLDER_END = "}}";
+	
+	private static final int MAX_RETAINED_BUILDER_CAPACITY = 64 * 1024;
+	
+	private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+	
+	/** literals[i] is followed by placeholders[i]; the last literal has no placeholder after it */
+	private final String[] literals;
+	
+	private final String[] placeholders;
+	
+	private final int estimatedLength;
+	
+	
+	private EmailTemplate(final String[] literals, final String[] placeholders, final int estimatedLength) {
+		this.literals = literals;
+		this.placeholders = placeholders;
+		this.estimatedLength = estimatedLength;
+	}
+	
+	public static EmailTemplate compile(final String source) {
+		final List<String> literals = new ArrayList<>();
+		final List<String> placeholders = new ArrayList<>();
+		int cursor = 0;
+		while (true) {
+			final int start = source.indexOf(PLACEHOLDER_START, cursor);
+			final int end = start < 0 ? -1 : source.indexOf(PLACEHOLDER_END, start + PLACEHOLDER_START.length());
+			if (end < 0) {
+				literals.add(source.substring(cursor));
+				break;
+			}
+			literals.add(source.substring(cursor, start));
+			placeholders.add(source.substring(start + PLACEHOLDER_START.length(), end).trim());
+			cursor = end + PLACEHOLDER_END.length();
+		}
+		return new EmailTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]),
+				source.length());
+	}
+	
+	public boolean hasPlaceholders() {
+		return this.placeholders.length > 0;
+	}
+	
+	public String render(final Map<String, String> variables) {
+		return this.render(variables::get);
+	}
+	
+	/**
+	 * Render into the calling thread's reusable buffer and return the result.
+	 */
+	public String render(final Function<String, String> resolver) {
+		if (!this.hasPlaceholders()) {
+			return this.literals[0];
+		}
+		
+		StringBuilder buffer = BUFFER.get();
+		if (buffer.capacity() > MAX_RETAINED_BUILDER_CAPACITY) {
+			buffer = new StringBuilder(this.estimatedLength + 256);
+			BUFFER.set(buffer);
+		}
+		buffer.setLength(0);
+		this.renderTo(buffer, resolver);
+		return buffer.toString();
+	}
+	
+	public void renderTo(final StringBuilder target, final Function<String, String> resolver) {
+		target.ensureCapacity(target.length() + this.estimatedLength + 64);
+		for (int i = 0; i < this.placeholders.length; i++) {
+			target.append(this.literals[i]);
+			final String value = resolver.apply(this.placeholders[i]);
+			if (value == null) {
+				target.append(PLACEHOLDER_START).append(this.placeholders[i]).append(PLACEHOLDER_END);
+			} else {
+				appendEscaped(target, value);
+			}
+		}
+		target.append(this.literals[this.literals.length - 1]);
+	}
+	
+	private static void appendEscaped(final StringBuilder target, final String value) {
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			switch (c) {
+				case '&' -> target.append("&amp;");
+				case '<' -> target.append("&lt;");
+				case '>' -> target.append("&gt;");
+				case '"' -> target.append("&quot;");
+				case '\'' -> target.append("&#39;");
+				default -> target.append(c);
+			}
+		}
+	}
+}
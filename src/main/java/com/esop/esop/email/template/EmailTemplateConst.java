@@ -0,0 +1,22 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.template;
+
+public interface EmailTemplateConst {
+	/** Template names, resolved as {templates-path}/{name}_{language}.html then {templates-path}/{name}.html */
+	String PASSWORD_RESET = "password-reset";
+	
+	String EMAIL_VERIFICATION = "email-verification";
+	
+	String TRANSACTION_NOTIFICATION = "transaction-notification";
+	
+	/** Placeholder used by bulk email bodies */
+	String EMAIL_PLACEHOLDER = "email";
+}
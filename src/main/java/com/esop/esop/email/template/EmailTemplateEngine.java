@@ -0,0 +1,114 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.email.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import com.esop.esop.common.config.message.MessageSourceConfig;
+import com.esop.esop.email.exception.EmailSendException;
+
+/**
+ * Loads email templates once per (name, language), keeps them parsed in memory
+ * and renders them with the subject taken from the messages bundle.
+ */
+@Slf4j
+@Component
+public class EmailTemplateEngine {
+	private static final String TEMPLATE_EXTENSION = ".html";
+	
+	private static final String SUBJECT_MESSAGE_PREFIX = "email.subject.";
+	
+	private final ResourceLoader resourceLoader;
+	
+	private final MessageSource messageSource;
+	
+	private final String templatesPath;
+	
+	private final Map<TemplateKey, EmailTemplate> templateCache = new ConcurrentHashMap<>();
+	
+	
+	public EmailTemplateEngine(final ResourceLoader resourceLoader, final MessageSource messageSource,
+			@Value("${email.templates-path:classpath:templates/email/}") final String templatesPath) {
+		this.resourceLoader = resourceLoader;
+		this.messageSource = messageSource;
+		this.templatesPath = templatesPath.endsWith("/") ? templatesPath : templatesPath + "/";
+	}
+	
+	@NonNull
+	public String render(@NonNull final String templateName, @NonNull final Map<String, String> variables) {
+		return this.render(templateName, LocaleContextHolder.getLocale(), variables);
+	}
+	
+	@NonNull
+	public String render(@NonNull final String templateName, final Locale locale,
+			@NonNull final Map<String, String> variables) {
+		return this.getTemplate(templateName, locale).render(variables);
+	}
+	
+	@NonNull
+	public String renderSubject(@NonNull final String templateName) {
+		return this.renderSubject(templateName, LocaleContextHolder.getLocale());
+	}
+	
+	@NonNull
+	public String renderSubject(@NonNull final String templateName, final Locale locale) {
+		return this.messageSource.getMessage(SUBJECT_MESSAGE_PREFIX + templateName, null, this.resolveLocale(locale));
+	}
+	
+	@NonNull
+	public EmailTemplate getTemplate(@NonNull final String templateName, final Locale locale) {
+		return this.templateCache.computeIfAbsent(
+				new TemplateKey(templateName, this.resolveLocale(locale).getLanguage()), this::load);
+	}
+	
+	private Locale resolveLocale(final Locale locale) {
+		return MessageSourceConfig.isSupported(locale) ? locale : MessageSourceConfig.DEFAULT_LOCALE;
+	}
+	
+	private EmailTemplate load(final TemplateKey key) {
+		Resource resource = this.resourceLoader.getResource(
+				this.templatesPath + key.name() + "_" + key.language() + TEMPLATE_EXTENSION);
+		if (!resource.exists()) {
+			resource = this.resourceLoader.getResource(this.templatesPath + key.name() + TEMPLATE_EXTENSION);
+		}
+		if (!resource.exists()) {
+			throw new EmailSendException("Email template not found: " + key.name());
+		}
+		
+		try (InputStream inputStream = resource.getInputStream()) {
+			final EmailTemplate template =
+					EmailTemplate.compile(StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8));
+			log.info("📄 Email template loaded: {} ({})", key.name(), key.language());
+			return template;
+		} catch (IOException e) {
+			throw new EmailSendException("Failed to load email template: " + key.name(), e);
+		}
+	}
+	
+	
+	private record TemplateKey(String name, String language) {
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.member;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.esop.esop.member.model.Member;
+
+/**
+ * Read-through cache in front of {@link MemberRepository} lookups by id and by email.
+ * Members are cached by id; the email cache only maps an email to its member id, so evicting the id is enough.
+ * Writers call {@link #evict(long)}, which is published on a Redis channel so every instance drops the member;
+ * the TTL bounds how long a missed message can serve a stale member.
+ * Hit ratio is exported as cache.gets / cache.evictions with cache=member.by-id and member.by-email.
+ */
+@Slf4j
+@Component
+public class MemberCache implements MessageListener {
+	private static final String EVICTION_CHANNEL = "member:cache-evictions";
+	
+	private final MemberRepository memberRepository;
+	
+	private final StringRedisTemplate stringRedisTemplate;
+	
+	private final Cache<Long, Member> membersById;
+	
+	private final Cache<String, Long> memberIdsByEmail;
+	
+	
+	public MemberCache(final MemberRepository memberRepository, final StringRedisTemplate stringRedisTemplate,
+			final RedisMessageListenerContainer redisMessageListenerContainer, final MeterRegistry meterRegistry,
+			@Value("${esop.member.cache.ttl-seconds:300}") final long ttlSeconds,
+			@Value("${esop.member.cache.max-size:10000}") final long maxSize) {
+		this.memberRepository = memberRepository;
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.membersById = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+			.recordStats()
+			.build();
+		this.memberIdsByEmail = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.membersById, "member.by-id");
+		CaffeineCacheMetrics.monitor(meterRegistry, this.memberIdsByEmail, "member.by-email");
+		redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(EVICTION_CHANNEL));
+	}
+	
+	@NonNull
+	public Optional<Member> findById(final long memberId) {
+		final Member cached = this.membersById.getIfPresent(memberId);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		final Optional<Member> member = this.memberRepository.findById(memberId);
+		member.ifPresent(this::put);
+		return member;
+	}
+	
+	@NonNull
+	public Optional<Member> findByEmail(@NonNull final String email) {
+		final Long memberId = this.memberIdsByEmail.getIfPresent(normalize(email));
+		final Member cached = memberId == null ? null : this.membersById.getIfPresent(memberId);
+		// The email may have changed since it was mapped to this id
+		if (cached != null && cached.getEmail() != null && normalize(cached.getEmail()).equals(normalize(email))) {
+			return Optional.of(cached);
+		}
+		final Optional<Member> member = this.memberRepository.findMemberByEmail(email);
+		member.ifPresent(this::put);
+		return member;
+	}
+	
+	/**
+	 * Drop the member on every instance; call after any change to the member row.
+	 */
+	public void evict(final long memberId) {
+		this.evictLocally(memberId);
+		try {
+			this.stringRedisTemplate.convertAndSend(EVICTION_CHANNEL, String.valueOf(memberId));
+		} catch (RuntimeException e) {
+			// Local entry is already gone; other instances fall back to the cache TTL
+			log.error("Failed to publish member cache eviction {}", memberId, e);
+		}
+	}
+	
+	@Override
+	public void onMessage(@NonNull final Message message, @Nullable final byte[] pattern) {
+		final String body = new String(message.getBody(), StandardCharsets.UTF_8);
+		try {
+			this.evictLocally(Long.parseLong(body));
+		} catch (NumberFormatException e) {
+			log.warn("Ignoring malformed member cache eviction: {}", body);
+		}
+	}
+	
+	private void put(final Member member) {
+		this.membersById.put(member.getId(), member);
+		if (member.getEmail() != null) {
+			this.memberIdsByEmail.put(normalize(member.getEmail()), member.getId());
+		}
+	}
+	
+	/** Email entries of the member are left in place: they only point at the id, whose entry is gone */
+	private void evictLocally(final long memberId) {
+		this.membersById.invalidate(memberId);
+	}
+	
+	private static String normalize(final String email) {
+		return email.trim().toLowerCase(Locale.ROOT);
+	}
+}
@@ -12,9 +12,23 @@ package com.esop.esop.member;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface MemberRepository extends JpaRepository<com.esop.esop.member.model.Member, Long> {
+	@Transactional(readOnly = true)
 	Optional<com.esop.esop.member.model.Member> findMemberByEmail(String email);
+	
+	/**
+	 * Replace the password hash only if it is still the one that was verified, so a concurrent password change wins.
+	 */
+	@Transactional
+	@Modifying
+	@Query("update Member m set m.password = :newPassword where m.id = :id and m.password = :oldPassword")
+	int updatePasswordIfUnchanged(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+			@Param("newPassword") String newPassword);
 }
@@ -0,0 +1,19 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a verified access token.
+ */
+public record AccessTokenClaims(long memberId, com.esop.esop.member.model.Role role, Instant issuedAt,
+		Instant expiresAt) {
+}
@@ -0,0 +1,64 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security;
+
+import java.security.Principal;
+
+import lombok.NonNull;
+
+/**
+ * Principal of a token-authenticated request, built from the token claims without touching the database.
+ * The Member entity is loaded on the first {@link #getMember()} call and reused for the rest of the request.
+ * Controllers obtain it with {@code @AuthenticationPrincipal AuthenticatedMember}.
+ */
+public class AuthenticatedMember implements Principal {
+	private final long memberId;
+	
+	private final com.esop.esop.member.model.Role role;
+	
+	private final SecurityService securityService;
+	
+	private com.esop.esop.member.model.Member member;
+	
+	
+	public AuthenticatedMember(final long memberId, @NonNull final com.esop.esop.member.model.Role role,
+			@NonNull final SecurityService securityService) {
+		this.memberId = memberId;
+		this.role = role;
+		this.securityService = securityService;
+	}
+	
+	public long getMemberId() {
+		return this.memberId;
+	}
+	
+	@NonNull
+	public com.esop.esop.member.model.Role getRole() {
+		return this.role;
+	}
+	
+	@NonNull
+	public com.esop.esop.member.model.Member getMember() {
+		if (this.member == null) {
+			this.member = this.securityService.findMemberById(this.memberId);
+		}
+		return this.member;
+	}
+	
+	@Override
+	public String getName() {
+		return String.valueOf(this.memberId);
+	}
+	
+	@Override
+	public String toString() {
+		return "AuthenticatedMember(memberId=" + this.memberId + ", role=" + this.role + ")";
+	}
+}
@@ -0,0 +1,23 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security;
+
+/**
+ * How JwtAuthenticationFilter resolves the authorities of a verified token (esop.security.authentication-mode).
+ */
+public enum AuthenticationMode {
+	/** Member id and role come from the token claims; the Member is loaded only when a controller asks for it */
+	CLAIMS,
+	/**
+	 * Member is read from the database, bypassing the member cache, whenever the token is verified; role changes and
+	 * deleted members apply at the next verification, at most esop.security.token-cache.ttl-seconds later
+	 */
+	MEMBER
+}
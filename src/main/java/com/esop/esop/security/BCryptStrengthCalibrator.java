@@ -0,0 +1,55 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt strength whose hash time is closest to a target on the current hardware.
+ * Strength n+1 takes twice as long as n, so one measurement at the minimum strength is enough.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BCryptStrengthCalibrator {
+	private static final int SAMPLES = 3;
+	
+	private static final String SAMPLE_PASSWORD = "calibration-Password-1";
+	
+	
+	/**
+	 * @return strength in [minStrength, maxStrength] hashing in about targetMillis; never below minStrength
+	 */
+	public static int calibrate(final long targetMillis, final int minStrength, final int maxStrength) {
+		final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+		encoder.encode(SAMPLE_PASSWORD); // warm up
+		final long[] samples = new long[SAMPLES];
+		for (int i = 0; i < SAMPLES; i++) {
+			final long startedAt = System.nanoTime();
+			encoder.encode(SAMPLE_PASSWORD);
+			samples[i] = System.nanoTime() - startedAt;
+		}
+		Arrays.sort(samples);
+		final double medianMillis = Math.max(samples[SAMPLES / 2] / (double) TimeUnit.MILLISECONDS.toNanos(1), 0.001);
+		
+		final int doublings = (int) Math.round(Math.log(targetMillis / medianMillis) / Math.log(2));
+		final int strength = Math.min(maxStrength, Math.max(minStrength, minStrength + doublings));
+		log.info("BCrypt strength {} takes {} ms here, using strength {} for a {} ms target (~{} ms).", minStrength,
+				Math.round(medianMillis), strength, targetMillis,
+				Math.round(medianMillis * Math.pow(2, strength - minStrength)));
+		return strength;
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+/**
+ * Public keys for verifying ES256 access tokens without calling this application.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+	private final JwtTokenManager jwtTokenManager;
+	
+	
+	@Operation(summary = "JSON Web Key Set of the access token signing keys")
+	@GetMapping("/.well-known/jwks.json")
+	public ResponseEntity<Map<String, Object>> getJwks() {
+		return ResponseEntity.ok()
+			.cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+			.body(this.jwtTokenManager.getJwks());
+	}
+}
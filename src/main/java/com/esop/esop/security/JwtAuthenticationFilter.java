@@ -30,6 +30,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import com.esop.esop.common.util.TokenHashUtil;
 import com.esop.esop.security.error.ExpiredJwtAuthenticationError;
 import com.esop.esop.security.error.InvalidJwtAuthenticationError;
 import com.esop.esop.security.error.InvalidTokenError;
@@ -45,13 +46,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	
 	private final SecurityService securityService;
 	
+	private final VerifiedTokenCache verifiedTokenCache;
+	
+	private final AuthenticationMode authenticationMode;
+	
 	
 	public JwtAuthenticationFilter(final AuthenticationEntryPoint authenticationEntryPoint,
 			final JwtTokenManager jwtTokenManager,
-			final SecurityService securityService) {
+			final SecurityService securityService,
+			final VerifiedTokenCache verifiedTokenCache,
+			final AuthenticationMode authenticationMode) {
 		this.authenticationEntryPoint = authenticationEntryPoint;
 		this.jwtTokenManager = jwtTokenManager;
 		this.securityService = securityService;
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.authenticationMode = authenticationMode;
 	}
 	
 	@Override
@@ -62,9 +71,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		if (StringUtils.isNotBlank(bearerToken) && StringUtils.startsWith(bearerToken, JwtConst.BEARER_TOKEN_PREFIX)) {
 			final String accessToken = this.jwtTokenManager.parseAccessToken(bearerToken);
 			try {
-				final long memberId = this.jwtTokenManager.extractMemberId(accessToken);
-				this.securityService.validateAccessToken(memberId, accessToken);
-				this.setupSecurityContext(request, memberId);
+				this.setupSecurityContext(request, this.verify(accessToken));
 			} catch (MemberNotFoundError | TokenDecodingError | InvalidTokenError e) {
 				this.authenticationEntryPoint.commence(request, response,
 						new InvalidJwtAuthenticationError(accessToken));
@@ -79,13 +86,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 	
-	private void setupSecurityContext(final HttpServletRequest request, final long memberId) {
+	/**
+	 * Signature and Redis revocation checks run only on a cache miss; a hit costs one hash and one map lookup.
+	 * In MEMBER mode a miss also loads the Member from the database (not the member cache) to take its current role.
+	 */
+	private VerifiedTokenCache.VerifiedToken verify(final String accessToken) {
+		final String tokenHash = TokenHashUtil.sha256(accessToken);
+		final VerifiedTokenCache.VerifiedToken cachedToken = this.verifiedTokenCache.get(tokenHash);
+		if (cachedToken != null) {
+			return cachedToken;
+		}
+		
+		final long revocationGeneration = this.verifiedTokenCache.revocationGeneration();
+		final AccessTokenClaims claims = this.jwtTokenManager.verifyAccessToken(accessToken);
+		this.securityService.validateAccessToken(claims, accessToken);
+		final com.esop.esop.member.model.Role role = this.authenticationMode == AuthenticationMode.MEMBER
+				? this.securityService.loadCurrentMember(claims.memberId()).getRole()
+				: claims.role();
+		final VerifiedTokenCache.VerifiedToken verifiedToken =
+				new VerifiedTokenCache.VerifiedToken(claims.memberId(), role, claims.expiresAt());
+		this.verifiedTokenCache.put(tokenHash, verifiedToken, revocationGeneration);
+		return verifiedToken;
+	}
+	
+	private void setupSecurityContext(final HttpServletRequest request,
+			final VerifiedTokenCache.VerifiedToken verifiedToken) {
 		if (Objects.isNull(SecurityContextHolder.getContext().getAuthentication())) {
-			final com.esop.esop.member.model.Member foundMember = this.securityService.findMemberById(memberId);
-			final com.esop.esop.member.model.Role memberRole = foundMember.getRole();
-			final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(memberRole.name()));
+			final AuthenticatedMember principal =
+					new AuthenticatedMember(verifiedToken.memberId(), verifiedToken.role(), this.securityService);
+			final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(verifiedToken.role().name()));
 			final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-					new UsernamePasswordAuthenticationToken(foundMember, null, authorities);
+					new UsernamePasswordAuthenticationToken(principal, null, authorities);
 			usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 			SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
 		}
@@ -0,0 +1,88 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.NonNull;
+
+import org.springframework.lang.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * ES256 (P-256) key pair identified by kid. The private key is null for keys kept only for verification.
+ */
+public record JwtSigningKey(String kid, @Nullable PrivateKey privateKey, ECPublicKey publicKey) {
+	private static final int P256_COORDINATE_BYTES = 32;
+	
+	private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+	
+	
+	@NonNull
+	public static JwtSigningKey from(@NonNull final JwtSigningKeyProperties properties) {
+		if (StringUtils.isBlank(properties.kid()) || StringUtils.isBlank(properties.publicKey())) {
+			throw new IllegalArgumentException("Jwt signing key requires kid and public-key");
+		}
+		try {
+			final KeyFactory keyFactory = KeyFactory.getInstance("EC");
+			final PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decode(properties.publicKey())));
+			if (!(publicKey instanceof ECPublicKey ecPublicKey)
+					|| ecPublicKey.getParams().getCurve().getField().getFieldSize() != P256_COORDINATE_BYTES * 8) {
+				throw new IllegalArgumentException("Jwt signing key " + properties.kid() + " is not a P-256 key");
+			}
+			final PrivateKey privateKey = StringUtils.isBlank(properties.privateKey())
+					? null
+					: keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decode(properties.privateKey())));
+			return new JwtSigningKey(properties.kid(), privateKey, ecPublicKey);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalArgumentException("Invalid jwt signing key " + properties.kid(), e);
+		}
+	}
+	
+	/**
+	 * Public part as a JWK (RFC 7517) for the JWKS endpoint.
+	 */
+	@NonNull
+	public Map<String, Object> toPublicJwk() {
+		final Map<String, Object> jwk = new LinkedHashMap<>();
+		jwk.put("kty", "EC");
+		jwk.put("use", "sig");
+		jwk.put("alg", "ES256");
+		jwk.put("kid", this.kid);
+		jwk.put("crv", "P-256");
+		jwk.put("x", encodeCoordinate(this.publicKey.getW().getAffineX()));
+		jwk.put("y", encodeCoordinate(this.publicKey.getW().getAffineY()));
+		return jwk;
+	}
+	
+	private static byte[] decode(final String key) {
+		return Base64.getDecoder().decode(key.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", ""));
+	}
+	
+	/** Unsigned big-endian, left-padded to the curve size as RFC 7518 requires */
+	private static String encodeCoordinate(final BigInteger coordinate) {
+		final byte[] bytes = coordinate.toByteArray();
+		final byte[] fixed = new byte[P256_COORDINATE_BYTES];
+		final int length = Math.min(bytes.length, P256_COORDINATE_BYTES);
+		System.arraycopy(bytes, bytes.length - length, fixed, P256_COORDINATE_BYTES - length, length);
+		return BASE64_URL.encodeToString(fixed);
+	}
+}
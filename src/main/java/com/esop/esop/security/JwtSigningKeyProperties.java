@@ -0,0 +1,22 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security;
+
+/**
+ * One entry of esop.jwt.signing-keys. Keys are base64 DER or PEM, generated e.g. with
+ * {@code openssl ecparam -name prime256v1 -genkey | openssl pkcs8 -topk8 -nocrypt} and
+ * {@code openssl ec -pubout}. A retired key keeps only its public key so its tokens verify until they expire.
+ *
+ * @param kid        key id written to the token header and the JWKS
+ * @param privateKey PKCS#8 P-256 private key, blank for verification-only keys
+ * @param publicKey  X.509 P-256 public key
+ */
+public record JwtSigningKeyProperties(String kid, String privateKey, String publicKey) {
+}
@@ -9,7 +9,13 @@
  */
 package com.esop.esop.security;
 
+import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import javax.crypto.SecretKey;
@@ -17,41 +23,90 @@ import javax.crypto.SecretKey;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import org.apache.commons.lang3.StringUtils;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.io.DecodingException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 
 import com.esop.esop.security.error.InvalidTokenError;
 import com.esop.esop.security.error.TokenDecodingError;
 import com.esop.esop.security.error.TokenExpiredError;
 
+/**
+ * Issues and verifies access tokens.
+ * With esop.jwt.algorithm=ES256 tokens are signed with the esop.jwt.signing-keys entry named by esop.jwt.active-kid
+ * and carry its kid, so other services verify them locally against /.well-known/jwks.json.
+ * Tokens without a kid are verified with the HMAC esop.jwt.secret in HS256 mode. After the switch to ES256 they are
+ * only accepted while esop.jwt.hs256-retired-at (the ISO-8601 cutover instant, the same on every node) is set, only if
+ * issued at or before the cutover, and only until one access token lifetime after it, however often nodes restart.
+ * Keys and the (thread-safe) JwtParser are built once and swapped atomically when the settings change;
+ * tokens signed with a replaced key or secret are accepted, if issued before the swap, until one access token
+ * lifetime after the swap.
+ */
 @Slf4j
 @Component
 public class JwtTokenManager {
-	@Value("${esop.jwt.secret}")
-	private String jwtSecret;
+	private static final String JWT_SECRET_PROPERTY = "esop.jwt.secret";
+	
+	private static final String JWT_ALGORITHM_PROPERTY = "esop.jwt.algorithm";
+	
+	private static final String JWT_ACTIVE_KID_PROPERTY = "esop.jwt.active-kid";
+	
+	private static final String JWT_SIGNING_KEYS_PROPERTY = "esop.jwt.signing-keys";
+	
+	private static final String JWT_HS256_RETIRED_AT_PROPERTY = "esop.jwt.hs256-retired-at";
+	
+	private static final String HS256 = "HS256";
+	
+	private static final String ES256 = "ES256";
 	
 	private static final String ROLE = "role";
 	
+	private final Environment environment;
+	
+	private volatile SigningKeys signingKeys;
+	
+	
+	public JwtTokenManager(@NonNull final Environment environment) {
+		this.environment = environment;
+		this.signingKeys = SigningKeys.of(JwtSettings.load(environment), null);
+		log.info("Jwt signing initialized: algorithm={}, kid={}", this.signingKeys.settings().algorithm(),
+				this.signingKeys.activeKey() == null ? "-" : this.signingKeys.activeKey().kid());
+	}
 	
 	@NonNull
 	public String generateAccessToken(final long memberId, @NonNull final com.esop.esop.member.model.Role role) {
 		final long currentDateTime = System.currentTimeMillis();
-		return Jwts.builder()
+		final SigningKeys keys = this.signingKeys;
+		final JwtBuilder builder = Jwts.builder()
 			.subject(String.valueOf(memberId))
 			.claim(ROLE, role.name())
 			.issuedAt(new Date(currentDateTime))
-			.expiration(new Date(currentDateTime + JwtConst.ACCESS_TOKEN_EXPIRATION_TIME_IN_MILLISECONDS))
-			.signWith(this.getSecretKey())
-			.compact();
+			.expiration(new Date(currentDateTime + JwtConst.ACCESS_TOKEN_EXPIRATION_TIME_IN_MILLISECONDS));
+		if (keys.activeKey() != null) {
+			builder.header().keyId(keys.activeKey().kid()).and()
+				.signWith(keys.activeKey().privateKey(), Jwts.SIG.ES256);
+		} else {
+			builder.signWith(keys.hmacKey());
+		}
+		return builder.compact();
 	}
 	
 	@NonNull
@@ -63,13 +118,20 @@ public class JwtTokenManager {
 	}
 	
 	public long extractMemberId(@NonNull final String accessToken) {
+		return this.verifyAccessToken(accessToken).memberId();
+	}
+	
+	@NonNull
+	public AccessTokenClaims verifyAccessToken(@NonNull final String accessToken) {
 		try {
-			return Long.parseLong(Jwts.parser()
-				.verifyWith(this.getSecretKey())
-				.build()
-				.parseSignedClaims(accessToken)
-				.getPayload()
-				.getSubject());
+			final Claims claims = this.parseClaims(accessToken);
+			final String role = claims.get(ROLE, String.class);
+			if (claims.getIssuedAt() == null || claims.getExpiration() == null || role == null) {
+				throw new NoSuchElementException("iat, exp and role claims are required");
+			}
+			return new AccessTokenClaims(Long.parseLong(claims.getSubject()),
+					com.esop.esop.member.model.Role.valueOf(role), claims.getIssuedAt().toInstant(),
+					claims.getExpiration().toInstant());
 		} catch (NumberFormatException e) {
 			log.warn("Error extracting memberId.", e);
 			throw new InvalidTokenError();
@@ -88,8 +150,134 @@ public class JwtTokenManager {
 		}
 	}
 	
+	/**
+	 * Public signing keys as a JWK set, including verification-only keys still in rotation.
+	 */
 	@NonNull
-	private SecretKey getSecretKey() {
-		return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+	public Map<String, Object> getJwks() {
+		return this.signingKeys.jwks();
+	}
+	
+	/**
+	 * Rebuild keys and parser if the jwt settings in the environment have changed.
+	 */
+	@Scheduled(fixedDelayString = "${esop.jwt.secret-reload-interval-ms:60000}",
+			initialDelayString = "${esop.jwt.secret-reload-interval-ms:60000}")
+	public void reloadIfChanged() {
+		final SigningKeys current = this.signingKeys;
+		try {
+			final JwtSettings settings = JwtSettings.load(this.environment);
+			if (settings.equals(current.settings())) {
+				return;
+			}
+			this.signingKeys = SigningKeys.of(settings, current);
+			log.info("Jwt signing keys reloaded: algorithm={}, kid={}", settings.algorithm(),
+					this.signingKeys.activeKey() == null ? "-" : this.signingKeys.activeKey().kid());
+		} catch (RuntimeException e) {
+			log.error("Jwt settings changed but are not valid, keeping the current keys.", e);
+		}
+	}
+	
+	@NonNull
+	private Claims parseClaims(@NonNull final String accessToken) {
+		final SigningKeys keys = this.signingKeys;
+		try {
+			final Jws<Claims> jws = keys.parser().parseSignedClaims(accessToken);
+			if (keys.activeKey() != null && jws.getHeader().getKeyId() == null) {
+				requireIssuedBefore(jws.getPayload(), keys.hs256RetiredAtMillis());
+			}
+			return jws.getPayload();
+		} catch (SignatureException e) {
+			if (keys.previousParser() == null || System.currentTimeMillis() >= keys.previousParserUntilMillis()) {
+				throw e;
+			}
+			final Claims claims = keys.previousParser().parseSignedClaims(accessToken).getPayload();
+			requireIssuedBefore(claims, keys.swappedAtMillis());
+			return claims;
+		}
+	}
+	
+	private static void requireIssuedBefore(final Claims claims, final long millis) {
+		if (claims.getIssuedAt() == null || claims.getIssuedAt().getTime() > millis) {
+			throw new InvalidTokenError();
+		}
+	}
+	
+	private record JwtSettings(String secret, String algorithm, String activeKid,
+			List<JwtSigningKeyProperties> signingKeys, Instant hs256RetiredAt) {
+		private static JwtSettings load(final Environment environment) {
+			final String hs256RetiredAt = environment.getProperty(JWT_HS256_RETIRED_AT_PROPERTY);
+			return new JwtSettings(environment.getProperty(JWT_SECRET_PROPERTY),
+					environment.getProperty(JWT_ALGORITHM_PROPERTY, HS256).toUpperCase(Locale.ROOT),
+					environment.getProperty(JWT_ACTIVE_KID_PROPERTY),
+					Binder.get(environment)
+						.bind(JWT_SIGNING_KEYS_PROPERTY, Bindable.listOf(JwtSigningKeyProperties.class))
+						.orElse(List.of()),
+					StringUtils.isBlank(hs256RetiredAt) ? null : Instant.parse(hs256RetiredAt.trim()));
+		}
+	}
+	
+	/**
+	 * Keys and parser for one set of settings, plus the parser of the set it replaced at swappedAtMillis.
+	 * The parser picks the verification key by kid: an ES256 public key when present, the HMAC key otherwise.
+	 * hs256RetiredAtMillis is the configured HS256 cutover, 0 if kid-less tokens are not accepted in ES256 mode.
+	 */
+	private record SigningKeys(JwtSettings settings, SecretKey hmacKey, JwtSigningKey activeKey,
+			Map<String, Object> jwks, JwtParser parser, JwtParser previousParser, long swappedAtMillis,
+			long hs256RetiredAtMillis) {
+		private long previousParserUntilMillis() {
+			return this.swappedAtMillis + JwtConst.ACCESS_TOKEN_EXPIRATION_TIME_IN_MILLISECONDS;
+		}
+		
+		private static SigningKeys of(final JwtSettings settings, final SigningKeys previous) {
+			final long now = System.currentTimeMillis();
+			final SecretKey hmacKey = StringUtils.isBlank(settings.secret())
+					? null
+					: Keys.hmacShaKeyFor(Decoders.BASE64.decode(settings.secret()));
+			final Map<String, JwtSigningKey> keysById = new LinkedHashMap<>();
+			for (final JwtSigningKeyProperties properties : settings.signingKeys()) {
+				if (keysById.put(properties.kid(), JwtSigningKey.from(properties)) != null) {
+					throw new IllegalArgumentException("Duplicate jwt signing key " + properties.kid());
+				}
+			}
+			
+			final JwtSigningKey activeKey;
+			if (ES256.equals(settings.algorithm())) {
+				activeKey = keysById.get(settings.activeKid());
+				if (activeKey == null || activeKey.privateKey() == null) {
+					throw new IllegalArgumentException(
+							JWT_ACTIVE_KID_PROPERTY + " must name a signing key that has a private key");
+				}
+			} else if (!HS256.equals(settings.algorithm())) {
+				throw new IllegalArgumentException(
+						"Unsupported " + JWT_ALGORITHM_PROPERTY + ": " + settings.algorithm());
+			} else if (hmacKey == null) {
+				throw new IllegalArgumentException(JWT_SECRET_PROPERTY + " is required for HS256");
+			} else {
+				activeKey = null;
+			}
+			
+			final long hs256RetiredAtMillis = activeKey != null && hmacKey != null && settings.hs256RetiredAt() != null
+					? settings.hs256RetiredAt().toEpochMilli()
+					: 0;
+			final long legacyHmacUntilMillis = hs256RetiredAtMillis == 0
+					? 0
+					: hs256RetiredAtMillis + JwtConst.ACCESS_TOKEN_EXPIRATION_TIME_IN_MILLISECONDS;
+			
+			final JwtParser parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+				@Override
+				protected Key locate(final JwsHeader header) {
+					if (header.getKeyId() == null) {
+						return activeKey == null || System.currentTimeMillis() < legacyHmacUntilMillis ? hmacKey : null;
+					}
+					final JwtSigningKey signingKey = keysById.get(header.getKeyId());
+					return signingKey == null ? null : signingKey.publicKey();
+				}
+			}).build();
+			final Map<String, Object> jwks = Map.of("keys",
+					keysById.values().stream().map(JwtSigningKey::toPublicJwk).toList());
+			return new SigningKeys(settings, hmacKey, activeKey, jwks, parser,
+					previous == null ? null : previous.parser(), now, hs256RetiredAtMillis);
+		}
 	}
 }
@@ -0,0 +1,66 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every hash and verification of the delegate (auth.password.hash by operation) and publishes the BCrypt
+ * strength in use (auth.password.bcrypt.strength), so hash cost can be compared across instance types.
+ */
+public class MeteredPasswordEncoder implements PasswordEncoder {
+	private final PasswordEncoder delegate;
+	
+	private final Timer encodeTimer;
+	
+	private final Timer matchesTimer;
+	
+	
+	public MeteredPasswordEncoder(final PasswordEncoder delegate, final MeterRegistry meterRegistry,
+			final int bcryptStrength) {
+		this.delegate = delegate;
+		this.encodeTimer = timer(meterRegistry, "encode");
+		this.matchesTimer = timer(meterRegistry, "matches");
+		Gauge.builder("auth.password.bcrypt.strength", () -> bcryptStrength)
+			.description("BCrypt strength used for new password hashes")
+			.register(meterRegistry);
+	}
+	
+	@Override
+	public String encode(final CharSequence rawPassword) {
+		return this.encodeTimer.record((Supplier<String>) () -> this.delegate.encode(rawPassword));
+	}
+	
+	@Override
+	public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+		final Boolean matches =
+				this.matchesTimer.record((Supplier<Boolean>) () -> this.delegate.matches(rawPassword, encodedPassword));
+		return Boolean.TRUE.equals(matches);
+	}
+	
+	@Override
+	public boolean upgradeEncoding(final String encodedPassword) {
+		return this.delegate.upgradeEncoding(encodedPassword);
+	}
+	
+	private static Timer timer(final MeterRegistry meterRegistry, final String operation) {
+		return Timer.builder("auth.password.hash")
+			.description("Password hash and verification time")
+			.tag("operation", operation)
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+	}
+}
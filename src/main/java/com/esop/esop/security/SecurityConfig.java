@@ -9,6 +9,9 @@
  */
 package com.esop.esop.security;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,11 +21,15 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -30,19 +37,33 @@ public class SecurityConfig {
 	
 	private static final String ROLE_ADMIN = com.esop.esop.member.model.Role.ADMIN.name();
 	
+	private static final String BCRYPT_ENCODING_ID = "bcrypt";
+	
 	private final AuthenticationEntryPoint authenticationEntryPoint;
 	
 	private final JwtTokenManager jwtTokenManager;
 	
 	private final SecurityService securityService;
 	
+	private final VerifiedTokenCache verifiedTokenCache;
+	
+	private final AuthenticationMode authenticationMode;
+	
+	private final int managementPort;
+	
 	
 	public SecurityConfig(final AuthenticationEntryPoint authenticationEntryPoint,
 			final JwtTokenManager jwtTokenManager,
-			final SecurityService securityService) {
+			final SecurityService securityService,
+			final VerifiedTokenCache verifiedTokenCache,
+			@Value("${esop.security.authentication-mode:CLAIMS}") final AuthenticationMode authenticationMode,
+			@Value("${management.server.port:-1}") final int managementPort) {
 		this.authenticationEntryPoint = authenticationEntryPoint;
 		this.jwtTokenManager = jwtTokenManager;
 		this.securityService = securityService;
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.authenticationMode = authenticationMode;
+		this.managementPort = managementPort;
 	}
 	
 	@Bean
@@ -50,6 +71,8 @@ public class SecurityConfig {
 		http.csrf(AbstractHttpConfigurer::disable).sessionManagement(
 				session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 		http.authorizeHttpRequests(authorize -> authorize
+			// Async dispatches (SSE) were already authorized on the initial request
+			.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 			// No authentication paths
 			.requestMatchers("/swagger/**").permitAll()
 			.requestMatchers("/api/auth/token").permitAll()
@@ -57,6 +80,12 @@ public class SecurityConfig {
 			.requestMatchers("/swagger-ui/**").permitAll()
 			.requestMatchers("/v3/api-docs/**").permitAll()
 			.requestMatchers("/api/dev/**").permitAll()
+			.requestMatchers("/.well-known/jwks.json").permitAll()
+			// Health probes (only health and prometheus actuator endpoints are exposed)
+			.requestMatchers("/actuator/health/**", "/livez", "/readyz").permitAll()
+			// Prometheus scrape, only on the internal management port
+			.requestMatchers(request -> request.getLocalPort() == this.managementPort
+					&& "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
 			// Required ROLE_ADMIN paths
 			.requestMatchers("/api/admin/**").hasAuthority(ROLE_ADMIN)
 			// Required ROLE_USER paths
@@ -65,7 +94,8 @@ public class SecurityConfig {
 			.requestMatchers("/api/verification/**").hasAnyAuthority(ROLE_ADMIN, ROLE_USER)
 			.anyRequest().authenticated())
 			.addFilterBefore(new JwtAuthenticationFilter(this.authenticationEntryPoint, this.jwtTokenManager,
-					this.securityService), UsernamePasswordAuthenticationFilter.class);
+					this.securityService, this.verifiedTokenCache, this.authenticationMode),
+					UsernamePasswordAuthenticationFilter.class);
 		
 		return http.build();
 	}
@@ -76,8 +106,21 @@ public class SecurityConfig {
 		return authenticationConfiguration.getAuthenticationManager();
 	}
 	
+	/**
+	 * {bcrypt}-prefixed hashes at a strength calibrated at startup to esop.security.password.target-hash-millis.
+	 * Unprefixed hashes stored before are still matched as BCrypt; upgradeEncoding flags them and weaker hashes
+	 * so they are rehashed on the next successful login.
+	 */
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(final MeterRegistry meterRegistry,
+			@Value("${esop.security.password.target-hash-millis:100}") final long targetHashMillis,
+			@Value("${esop.security.password.bcrypt-min-strength:10}") final int minStrength,
+			@Value("${esop.security.password.bcrypt-max-strength:14}") final int maxStrength) {
+		final int strength = BCryptStrengthCalibrator.calibrate(targetHashMillis, minStrength, maxStrength);
+		final BCryptPasswordEncoder bcryptPasswordEncoder = new BCryptPasswordEncoder(strength);
+		final DelegatingPasswordEncoder delegatingPasswordEncoder =
+				new DelegatingPasswordEncoder(BCRYPT_ENCODING_ID, Map.of(BCRYPT_ENCODING_ID, bcryptPasswordEncoder));
+		delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcryptPasswordEncoder);
+		return new MeteredPasswordEncoder(delegatingPasswordEncoder, meterRegistry, strength);
 	}
 }
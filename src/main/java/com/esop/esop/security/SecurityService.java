@@ -15,5 +15,11 @@ public interface SecurityService {
 	@NonNull
 	com.esop.esop.member.model.Member findMemberById(final long memberId);
 	
-	void validateAccessToken(final long memberId, @NonNull final String accessToken);
+	/**
+	 * Like {@link #findMemberById} but always read from the database, never from the member cache.
+	 */
+	@NonNull
+	com.esop.esop.member.model.Member loadCurrentMember(final long memberId);
+	
+	void validateAccessToken(@NonNull final AccessTokenClaims claims, @NonNull final String accessToken);
 }
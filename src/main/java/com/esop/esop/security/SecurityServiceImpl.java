@@ -13,9 +13,9 @@ import lombok.AllArgsConstructor;
 import lombok.NonNull;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.esop.esop.auth.AccessTokenRedisRepository;
+import com.esop.esop.member.MemberCache;
 import com.esop.esop.member.MemberRepository;
 import com.esop.esop.security.error.InvalidTokenError;
 import com.esop.esop.security.error.MemberNotFoundError;
@@ -23,30 +23,43 @@ import com.esop.esop.security.error.MemberNotFoundError;
 @Service
 @AllArgsConstructor
 public class SecurityServiceImpl implements SecurityService {
+	private final MemberCache memberCache;
+	
 	private final MemberRepository memberRepository;
 	
 	private final AccessTokenRedisRepository accessTokenRedisRepository;
 	
 	
 	@NonNull
-	@Transactional(readOnly = true)
 	@Override
 	public com.esop.esop.member.model.Member findMemberById(final long memberId) {
+		return this.memberCache.findById(memberId).orElseThrow(MemberNotFoundError::new);
+	}
+	
+	@NonNull
+	@Override
+	public com.esop.esop.member.model.Member loadCurrentMember(final long memberId) {
 		return this.memberRepository.findById(memberId).orElseThrow(MemberNotFoundError::new);
 	}
 	
-	@Transactional(readOnly = true)
+	/**
+	 * The token must still be stored in Redis and be issued after the member's last revoke-all.
+	 */
 	@Override
-	public void validateAccessToken(final long memberId, @NonNull final String accessToken) {
-		final String foundMemberId = this.accessTokenRedisRepository.getAccessToken(memberId, accessToken);
+	public void validateAccessToken(@NonNull final AccessTokenClaims claims, @NonNull final String accessToken) {
+		final AccessTokenRedisRepository.AccessTokenState state =
+				this.accessTokenRedisRepository.getAccessTokenState(claims.memberId(), accessToken);
 		
 		try {
-			if (Long.parseLong(foundMemberId) != memberId) {
+			if (Long.parseLong(state.memberId()) != claims.memberId()) {
 				throw new InvalidTokenError();
 			}
 		} catch (NumberFormatException e) {
 			throw new InvalidTokenError();
 		}
+		if (state.tokensValidAfter() != null && claims.issuedAt().getEpochSecond() <= state.tokensValidAfter()) {
+			throw new InvalidTokenError();
+		}
 	}
 	
 }
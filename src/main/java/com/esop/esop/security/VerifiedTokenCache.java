@@ -0,0 +1,162 @@
+/*
+ * (C) 2025 Esop.
+ *
+ * NOTICE:  All source code, documentation and other information
+ * contained herein is, and remains the property of Esop.
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained
+ * from Esop.
+ */
+package com.esop.esop.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import com.esop.esop.common.util.TokenHashUtil;
+
+/**
+ * In-process cache of access tokens that passed signature and Redis revocation checks, keyed by the token's SHA-256.
+ * An entry lives until the token expires or the cache TTL elapses, whichever comes first.
+ * Revocations are published on a Redis channel so every instance drops the entry, not only the one that
+ * handled the logout; the TTL bounds how long a missed message can keep a revoked token usable.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache implements MessageListener {
+	private static final String REVOCATION_CHANNEL = "auth:token-revocations";
+	
+	private static final String TOKEN_PREFIX = "token:";
+	
+	private static final String MEMBER_PREFIX = "member:";
+	
+	private final Cache<String, VerifiedToken> cache;
+	
+	/** Bumped before every local or remote invalidation, so a verification that raced one can detect it */
+	private final AtomicLong revocationGeneration = new AtomicLong();
+	
+	private final StringRedisTemplate stringRedisTemplate;
+	
+	
+	public VerifiedTokenCache(final StringRedisTemplate stringRedisTemplate,
+			final RedisMessageListenerContainer redisMessageListenerContainer,
+			@Value("${esop.security.token-cache.ttl-seconds:30}") final long ttlSeconds,
+			@Value("${esop.security.token-cache.max-size:10000}") final long maxSize) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		final long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfter(new Expiry<String, VerifiedToken>() {
+				@Override
+				public long expireAfterCreate(final String key, final VerifiedToken value, final long currentTime) {
+					final long untilExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+					return Math.max(0, Math.min(ttlNanos, untilExpiry));
+				}
+				
+				@Override
+				public long expireAfterUpdate(final String key, final VerifiedToken value, final long currentTime,
+						final long currentDuration) {
+					return this.expireAfterCreate(key, value, currentTime);
+				}
+				
+				@Override
+				public long expireAfterRead(final String key, final VerifiedToken value, final long currentTime,
+						final long currentDuration) {
+					return currentDuration;
+				}
+			})
+			.build();
+		redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+	}
+	
+	@Nullable
+	public VerifiedToken get(@NonNull final String tokenHash) {
+		return this.cache.getIfPresent(tokenHash);
+	}
+	
+	/**
+	 * Read before the Redis revocation check and pass to {@link #put}.
+	 */
+	public long revocationGeneration() {
+		return this.revocationGeneration.get();
+	}
+	
+	/**
+	 * Cache the token unless a revocation happened since the generation was read. The entry is put first and
+	 * dropped again if the generation moved, so a revocation racing the put can never leave it behind.
+	 */
+	public void put(@NonNull final String tokenHash, @NonNull final VerifiedToken verifiedToken,
+			final long checkedAtGeneration) {
+		this.cache.put(tokenHash, verifiedToken);
+		if (this.revocationGeneration.get() != checkedAtGeneration) {
+			this.cache.invalidate(tokenHash);
+		}
+	}
+	
+	/**
+	 * Drop the token on every instance.
+	 */
+	public void revokeToken(@NonNull final String accessToken) {
+		final String tokenHash = TokenHashUtil.sha256(accessToken);
+		this.revocationGeneration.incrementAndGet();
+		this.cache.invalidate(tokenHash);
+		this.publish(TOKEN_PREFIX + tokenHash);
+	}
+	
+	/**
+	 * Drop every token of the member on every instance.
+	 */
+	public void revokeMember(final long memberId) {
+		this.evictMember(memberId);
+		this.publish(MEMBER_PREFIX + memberId);
+	}
+	
+	@Override
+	public void onMessage(@NonNull final Message message, @Nullable final byte[] pattern) {
+		final String body = new String(message.getBody(), StandardCharsets.UTF_8);
+		this.revocationGeneration.incrementAndGet();
+		if (body.startsWith(TOKEN_PREFIX)) {
+			this.cache.invalidate(body.substring(TOKEN_PREFIX.length()));
+		} else if (body.startsWith(MEMBER_PREFIX)) {
+			try {
+				this.evictMember(Long.parseLong(body.substring(MEMBER_PREFIX.length())));
+			} catch (NumberFormatException e) {
+				log.warn("Ignoring malformed token revocation: {}", body);
+			}
+		}
+	}
+	
+	private void evictMember(final long memberId) {
+		this.revocationGeneration.incrementAndGet();
+		this.cache.asMap().values().removeIf(verifiedToken -> verifiedToken.memberId() == memberId);
+	}
+	
+	private void publish(final String message) {
+		try {
+			this.stringRedisTemplate.convertAndSend(REVOCATION_CHANNEL, message);
+		} catch (RuntimeException e) {
+			// Local entry is already gone; other instances fall back to the cache TTL
+			log.error("Failed to publish token revocation {}", message, e);
+		}
+	}
+	
+	public record VerifiedToken(long memberId, com.esop.esop.member.model.Role role, Instant expiresAt) {
+	}
+}
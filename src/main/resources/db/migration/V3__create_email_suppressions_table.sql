@@ -0,0 +1,12 @@
+-- Create email_suppressions table: addresses that must not receive bulk email (MySQL)
+CREATE TABLE IF NOT EXISTS email_suppressions (
+    id BIGINT PRIMARY KEY NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL COMMENT 'Lower-cased recipient address',
+    reason VARCHAR(20) NOT NULL COMMENT 'BOUNCE, COMPLAINT or MANUAL',
+    detail VARCHAR(255) COMMENT 'SES bounce sub type or complaint feedback type',
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    CONSTRAINT uk_email_suppressions_email UNIQUE (email)
+    ) COMMENT='Suppression list fed by SES bounce and complaint notifications';
+
+CREATE INDEX idx_email_suppressions_created_at ON email_suppressions(created_at);